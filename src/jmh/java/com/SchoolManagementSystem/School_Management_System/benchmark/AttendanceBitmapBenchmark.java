@@ -0,0 +1,95 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceMark;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+import com.SchoolManagementSystem.School_Management_System.model.AttendanceBitmap;
+import com.SchoolManagementSystem.School_Management_System.util.DayBitmap;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attendance rate of one class over one term once the data is in memory: counting attendance
+ * records one by one, as the row table holds them, versus a masked popcount over the day bitmaps
+ * of the same records. A class of 40 students with 8 subjects has a roll call every weekday of
+ * the school year; the term is September to December.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttendanceBitmapBenchmark {
+
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 1);
+    private static final LocalDate TERM_START = LocalDate.of(2024, 9, 1);
+    private static final LocalDate TERM_END = LocalDate.of(2024, 12, 20);
+
+    @Param({"40"})
+    private int students;
+
+    @Param({"8"})
+    private int subjects;
+
+    private List<AttendanceMark> rows;
+    private List<byte[][]> bitmaps;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        bitmaps = new ArrayList<>();
+        for (long student = 1; student <= students; student++) {
+            for (long subject = 1; subject <= subjects; subject++) {
+                byte[] recorded = new byte[AttendanceBitmap.BYTES];
+                byte[] present = new byte[AttendanceBitmap.BYTES];
+                for (int day = 0; day < AttendanceBitmap.DAYS - 1; day++) {
+                    LocalDate date = YEAR_START.plusDays(day);
+                    if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                        continue;
+                    }
+                    AttendanceStatus status = random.nextInt(10) == 0 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT;
+                    rows.add(new AttendanceMark(student, subject, date, status));
+                    recorded = DayBitmap.with(recorded, day, true);
+                    present = DayBitmap.with(present, day, status == AttendanceStatus.PRESENT);
+                }
+                bitmaps.add(new byte[][] {recorded, present});
+            }
+        }
+    }
+
+    @Benchmark
+    public double rows() {
+        long present = 0;
+        long recorded = 0;
+        for (AttendanceMark row : rows) {
+            if (!row.date().isBefore(TERM_START) && !row.date().isAfter(TERM_END)) {
+                recorded++;
+                if (row.status() == AttendanceStatus.PRESENT) {
+                    present++;
+                }
+            }
+        }
+        return (double) present / recorded;
+    }
+
+    @Benchmark
+    public double bitmaps() {
+        int fromDay = (int) ChronoUnit.DAYS.between(YEAR_START, TERM_START);
+        int toDay = (int) ChronoUnit.DAYS.between(YEAR_START, TERM_END);
+        long present = 0;
+        long recorded = 0;
+        for (byte[][] bitmap : bitmaps) {
+            recorded += DayBitmap.count(bitmap[0], fromDay, toDay);
+            present += DayBitmap.count(bitmap[1], fromDay, toDay);
+        }
+        return (double) present / recorded;
+    }
+}
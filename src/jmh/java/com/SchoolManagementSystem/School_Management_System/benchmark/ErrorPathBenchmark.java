@@ -0,0 +1,59 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a lookup miss on the error path: throwing the untyped RuntimeException the services
+ * used before (full stack trace plus an eagerly built message) versus the stackless
+ * NotFoundException, both thrown {@code depth} frames below the catch site to stand in for the
+ * controller/proxy/filter stack of a real request. The handler always reads the message, so both
+ * variants pay for formatting it once. Run with -prof gc to compare allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "120"})
+    private int depth;
+
+    private Long id = 987654321L;
+
+    @Benchmark
+    public String runtimeException() {
+        try {
+            return throwRuntime(depth);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String notFoundException() {
+        try {
+            return throwNotFound(depth);
+        } catch (NotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String throwRuntime(int remaining) {
+        if (remaining > 0) {
+            return throwRuntime(remaining - 1);
+        }
+        throw new RuntimeException("Student not found with id: " + id);
+    }
+
+    private String throwNotFound(int remaining) {
+        if (remaining > 0) {
+            return throwNotFound(remaining - 1);
+        }
+        throw new NotFoundException("Student", id);
+    }
+}
@@ -0,0 +1,64 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.util.FeeCalculationUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full fee calculation (discount, amount due, balance, category) over a large batch of fees,
+ * the same sequence FeeService runs for every created or updated fee.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeeCalculationBenchmark {
+
+    @Param({"1000000"})
+    private int feeCount;
+
+    private Double[] totalAmounts;
+    private String[] discountTypes;
+    private Double[] discountValues;
+    private Double[] amountsPaid;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        totalAmounts = new Double[feeCount];
+        discountTypes = new String[feeCount];
+        discountValues = new Double[feeCount];
+        amountsPaid = new Double[feeCount];
+        for (int i = 0; i < feeCount; i++) {
+            double total = 50 + random.nextInt(950);
+            boolean percentage = random.nextBoolean();
+            totalAmounts[i] = total;
+            discountTypes[i] = percentage ? "percentage" : "fixed";
+            // Roughly a fifth of the fees end up fully discounted (FREE)
+            discountValues[i] = random.nextInt(5) == 0 ? (percentage ? 100.0 : total) : (double) random.nextInt(percentage ? 50 : 100);
+            amountsPaid[i] = (double) random.nextInt((int) total);
+        }
+    }
+
+    @Benchmark
+    public void calculateFees(Blackhole blackhole) {
+        for (int i = 0; i < feeCount; i++) {
+            Double discountAmount = FeeCalculationUtil.calculateDiscountAmount(totalAmounts[i], discountTypes[i], discountValues[i]);
+            Double amountDue = FeeCalculationUtil.calculateAmountDue(totalAmounts[i], discountAmount);
+            blackhole.consume(FeeCalculationUtil.calculateBalance(amountDue, amountsPaid[i]));
+            blackhole.consume(FeeCalculationUtil.determineCategory(totalAmounts[i], discountAmount));
+        }
+    }
+
+    @Benchmark
+    public void validateDiscounts(Blackhole blackhole) {
+        for (int i = 0; i < feeCount; i++) {
+            blackhole.consume(FeeCalculationUtil.validateDiscount(discountValues[i], discountTypes[i]));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.config.JacksonConfig;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization of Fee and Student lists with the application's ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<Fee> fees;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+
+        List<Subject> subjects = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            Subject subject = new Subject();
+            subject.setId(i);
+            subject.setName("Subject " + i);
+            subject.setCode("SUB" + i);
+            subject.setPrice(100.0 * i);
+            subjects.add(subject);
+        }
+
+        students = new ArrayList<>(size);
+        fees = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Student student = new Student();
+            student.setId(i);
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@school.com");
+            student.setPhone("555-0100");
+            student.setGender(i % 2 == 0 ? "Female" : "Male");
+            student.setDateOfBirth(LocalDate.of(2010, 1, 1).plusDays(i));
+            student.setClassName("Grade " + (i % 12 + 1));
+            student.setParentName("Parent " + i);
+            student.setSubjects(new ArrayList<>(subjects.subList(0, 4)));
+            students.add(student);
+
+            Fee fee = new Fee();
+            fee.setId(i);
+            fee.setStudent(student);
+            fee.setSubject(subjects.get((int) (i % subjects.size())));
+            fee.setInvoiceNumber("INV-20250101-" + String.format("%04d", i));
+            fee.setTotalAmount(500.0);
+            fee.setDiscountType("percentage");
+            fee.setDiscountValue(10.0);
+            fee.setDiscountAmount(50.0);
+            fee.setAmountDue(450.0);
+            fee.setAmountPaid(200.0);
+            fee.setBalance(250.0);
+            fee.setFinalAmount(450.0);
+            fee.setCategory("DISCOUNT");
+            fee.setPaymentDate(LocalDate.of(2025, 1, 1));
+            fee.setStatus("PARTIAL");
+            fee.setAcademicYear("2024-2025");
+            fee.setTerm("Term 1");
+            fees.add(fee);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeFees() throws Exception {
+        return objectMapper.writeValueAsBytes(fees);
+    }
+
+    @Benchmark
+    public byte[] serializeStudents() throws Exception {
+        return objectMapper.writeValueAsBytes(students);
+    }
+}
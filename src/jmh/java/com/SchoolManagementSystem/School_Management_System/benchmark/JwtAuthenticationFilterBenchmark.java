@@ -0,0 +1,60 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.security.JwtAuthenticationFilter;
+import com.SchoolManagementSystem.School_Management_System.security.VerifiedTokenCache;
+import com.SchoolManagementSystem.School_Management_System.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter, for a token seen before (cache hit) and for one
+ * that must be verified (cache miss).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter verifyingFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtBenchmark.newJwtUtil();
+        cachingFilter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 10000));
+        // Caching disabled: the token is verified on every request
+        verifyingFilter = new JwtAuthenticationFilter(new VerifiedTokenCache(jwtUtil, 0));
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(JwtBenchmark.USERNAME, "ADMIN");
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object cachedToken() throws Exception {
+        return filter(cachingFilter);
+    }
+
+    @Benchmark
+    public Object verifiedToken() throws Exception {
+        return filter(verifyingFilter);
+    }
+
+    private Object filter(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
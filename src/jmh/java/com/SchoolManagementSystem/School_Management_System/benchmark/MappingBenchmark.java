@@ -0,0 +1,78 @@
+package com.SchoolManagementSystem.School_Management_System.benchmark;
+
+import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
+import com.SchoolManagementSystem.School_Management_System.mapper.StudentMapper;
+import com.SchoolManagementSystem.School_Management_System.mapper.StudentMapperImpl;
+import com.SchoolManagementSystem.School_Management_System.mapper.TeacherMapper;
+import com.SchoolManagementSystem.School_Management_System.mapper.TeacherMapperImpl;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of mapping create/update requests onto entities: the reflective ModelMapper the
+ * services used before (a shared, already warmed-up instance, as the old singleton bean) versus
+ * the MapStruct-generated mappers. Run with -prof gc to compare allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final StudentMapper studentMapper = new StudentMapperImpl();
+    private final TeacherMapper teacherMapper = new TeacherMapperImpl();
+
+    private StudentRequest studentRequest;
+    private TeacherRequest teacherRequest;
+    private Student existingStudent;
+
+    @Setup
+    public void setUp() {
+        studentRequest = new StudentRequest("Jane Doe", "jane.doe@student.com", "+1234567890", "Female",
+                "123 Main St", LocalDate.of(2008, 5, 14), "Grade 10", "John Doe", "+1987654321", 10.0, List.of(1L, 2L));
+        teacherRequest = new TeacherRequest("Alan Smith", "alan.smith@school.com", "+1555000111", "Science");
+        existingStudent = studentMapper.toStudent(studentRequest);
+    }
+
+    @Benchmark
+    public Student studentModelMapper() {
+        return modelMapper.map(studentRequest, Student.class);
+    }
+
+    @Benchmark
+    public Student studentGenerated() {
+        return studentMapper.toStudent(studentRequest);
+    }
+
+    @Benchmark
+    public Student studentUpdateModelMapper() {
+        modelMapper.map(studentRequest, existingStudent);
+        return existingStudent;
+    }
+
+    @Benchmark
+    public Student studentUpdateGenerated() {
+        studentMapper.updateStudent(studentRequest, existingStudent);
+        return existingStudent;
+    }
+
+    @Benchmark
+    public Teacher teacherModelMapper() {
+        return modelMapper.map(teacherRequest, Teacher.class);
+    }
+
+    @Benchmark
+    public Teacher teacherGenerated() {
+        return teacherMapper.toTeacher(teacherRequest);
+    }
+}
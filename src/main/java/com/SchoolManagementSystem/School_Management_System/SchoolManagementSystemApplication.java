@@ -2,8 +2,10 @@ package com.SchoolManagementSystem.School_Management_System;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SchoolManagementSystemApplication {
 
 	public static void main(String[] args) {
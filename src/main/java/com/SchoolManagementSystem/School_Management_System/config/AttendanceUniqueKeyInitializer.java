@@ -0,0 +1,45 @@
+package com.SchoolManagementSystem.School_Management_System.config;
+
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Schema update cannot add the attendance unique key while the table still holds duplicate roll-call
+ * rows from before it existed. On startup, if the key is missing, keep the latest row of each student,
+ * subject and date and add the key. Runs once all beans are created, before the web server accepts
+ * requests and before the dashboard counters are reconciled on startup.
+ */
+@Slf4j
+@Component
+public class AttendanceUniqueKeyInitializer implements SmartInitializingSingleton {
+
+    private static final String DELETE_DUPLICATES = """
+            DELETE FROM attendance WHERE id IN (
+                SELECT a.id FROM attendance a JOIN attendance b
+                    ON b.student_id = a.student_id AND b.subject_id = a.subject_id AND b.date = a.date AND b.id > a.id)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        long existing = ((Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM information_schema.table_constraints WHERE constraint_name = :name")
+                .setParameter("name", Attendance.UNIQUE_KEY)
+                .getSingleResult()).longValue();
+        if (existing > 0) {
+            return;
+        }
+        int removed = entityManager.createNativeQuery(DELETE_DUPLICATES).executeUpdate();
+        entityManager.createNativeQuery("ALTER TABLE attendance ADD CONSTRAINT " + Attendance.UNIQUE_KEY
+                + " UNIQUE (student_id, subject_id, date)").executeUpdate();
+        log.info("Removed {} duplicate attendance rows and added unique key {}", removed, Attendance.UNIQUE_KEY);
+    }
+}
@@ -19,6 +19,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("Link", "X-Next-Cursor", "Content-Disposition") // Keyset pagination metadata, export file names
                 .allowCredentials(false) // Must be false when using wildcard origins
                 .maxAge(3600);
     }
@@ -29,6 +30,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("Link", "X-Next-Cursor", "Content-Disposition")); // Keyset pagination metadata, export file names
         configuration.setAllowCredentials(false); // Must be false when using wildcard origins
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,57 @@
+package com.SchoolManagementSystem.School_Management_System.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Tables that moved from IDENTITY to pooled sequence ids already hold rows whose ids the
+ * freshly created sequence would hand out again. On startup, before the web server accepts
+ * requests, move each sequence past the table's current maximum id.
+ */
+@Slf4j
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    /** table name -> sequence name; every sequence uses ALLOCATION_SIZE */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "attendance", "attendance_seq",
+            "exams", "exams_seq",
+            "fees", "fees_seq",
+            "students", "students_seq"
+    );
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String table, String sequence) {
+        long maxId = ((Number) entityManager
+                .createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)
+                .getSingleResult()).longValue();
+        if (maxId == 0) {
+            return;
+        }
+        long next = ((Number) entityManager
+                .createNativeQuery("SELECT nextval('" + sequence + "')")
+                .getSingleResult()).longValue();
+        // Pooled optimizer hands out (value - ALLOCATION_SIZE, value], so the whole block must lie above maxId
+        if (next - ALLOCATION_SIZE < maxId) {
+            entityManager.createNativeQuery("SELECT setval('" + sequence + "', " + (maxId + ALLOCATION_SIZE) + ")")
+                    .getSingleResult();
+            log.info("Advanced sequence {} past existing {} ids (max id {})", sequence, table, maxId);
+        }
+    }
+}
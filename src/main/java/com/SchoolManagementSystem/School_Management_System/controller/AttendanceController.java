@@ -1,15 +1,27 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceBitmapMigration;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate;
 import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRow;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceWeek;
 import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.service.AttendanceBitmapService;
 import com.SchoolManagementSystem.School_Management_System.service.AttendanceService;
+import com.SchoolManagementSystem.School_Management_System.util.ExportFormat;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,11 +34,84 @@ import java.util.Optional;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceBitmapService attendanceBitmapService;
+    private final StreamingExport streamingExport;
 
     @GetMapping
-    public ResponseEntity<List<Attendance>> getAllAttendance() {
-        List<Attendance> attendance = attendanceService.getAllAttendance();
-        return ResponseEntity.ok(attendance);
+    public ResponseEntity<List<AttendanceRow>> getAllAttendance(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<AttendanceRow> attendance = attendanceService.getAttendanceRows(page);
+        return KeysetPagination.ok(attendance, page, AttendanceRow::id);
+    }
+
+    /**
+     * Streams every attendance record as NDJSON (default) or CSV.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(required = false) String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return streamingExport.ok("attendance", ExportFormat.from(format), acceptEncoding, AttendanceRow.CSV_COLUMNS,
+                AttendanceRow::csvValues, attendanceService::exportAttendanceRows);
+    }
+
+    @GetMapping("/analytics/students")
+    public ResponseEntity<List<AttendanceRate>> getStudentAttendanceRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "class", required = false) String className) {
+        return ResponseEntity.ok(attendanceService.getStudentAttendanceRates(from, to, className));
+    }
+
+    @GetMapping("/analytics/subjects")
+    public ResponseEntity<List<AttendanceRate>> getSubjectAttendanceRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.getSubjectAttendanceRates(from, to));
+    }
+
+    @GetMapping("/analytics/classes")
+    public ResponseEntity<List<AttendanceRate>> getClassAttendanceRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceService.getClassAttendanceRates(from, to));
+    }
+
+    @GetMapping("/analytics/weekly")
+    public ResponseEntity<List<AttendanceWeek>> getWeeklyAttendanceRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long subjectId) {
+        return ResponseEntity.ok(attendanceService.getWeeklyAttendanceRates(from, to, subjectId));
+    }
+
+    @GetMapping("/bitmaps/students/{studentId}")
+    public ResponseEntity<AttendanceRate> getStudentBitmapRate(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceBitmapService.getStudentRate(studentId, subjectId, from, to));
+    }
+
+    @GetMapping("/bitmaps/classes/{className}")
+    public ResponseEntity<AttendanceRate> getClassBitmapRate(
+            @PathVariable String className,
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceBitmapService.getClassRate(className, subjectId, from, to));
+    }
+
+    /**
+     * Rebuilds the attendance bitmaps from the attendance table.
+     */
+    @PostMapping("/bitmaps/migrate")
+    public ResponseEntity<AttendanceBitmapMigration> migrateBitmaps() {
+        return ResponseEntity.ok(attendanceBitmapService.migrate());
     }
 
     @GetMapping("/{id}")
@@ -62,9 +147,20 @@ public class AttendanceController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<List<Attendance>> createBulkAttendance(@Valid @RequestBody BulkAttendanceRequest bulkAttendanceRequest) {
-        List<Attendance> attendances = attendanceService.createBulkAttendance(bulkAttendanceRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(attendances);
+    public ResponseEntity<BulkAttendanceResponse> createBulkAttendance(@Valid @RequestBody BulkAttendanceRequest bulkAttendanceRequest) {
+        BulkAttendanceResponse response = attendanceService.createBulkAttendance(bulkAttendanceRequest);
+        HttpStatus status = response.getCreated() > 0 || response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Idempotent roll call: creates missing records and overwrites the status of existing ones.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkAttendanceResponse> upsertBulkAttendance(@Valid @RequestBody BulkAttendanceRequest bulkAttendanceRequest) {
+        BulkAttendanceResponse response = attendanceService.upsertBulkAttendance(bulkAttendanceRequest);
+        HttpStatus status = response.getFailed() == 0 || response.getFailed() < response.getResults().size() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
     }
 
     @PutMapping("/{id}")
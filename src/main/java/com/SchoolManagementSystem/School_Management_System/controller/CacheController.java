@@ -0,0 +1,29 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.dto.CacheRegionStatistics;
+import com.SchoolManagementSystem.School_Management_System.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CacheRegionStatistics>> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+
+    @DeleteMapping("/statistics")
+    public ResponseEntity<Void> resetStatistics() {
+        cacheStatisticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
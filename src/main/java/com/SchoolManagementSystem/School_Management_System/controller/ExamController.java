@@ -1,15 +1,29 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
 import com.SchoolManagementSystem.School_Management_System.dto.BulkExamRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkImportResponse;
 import com.SchoolManagementSystem.School_Management_System.dto.ExamRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ExamRow;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.service.ExamImportService;
 import com.SchoolManagementSystem.School_Management_System.service.ExamService;
+import com.SchoolManagementSystem.School_Management_System.util.ExportFormat;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,11 +34,28 @@ import java.util.Optional;
 public class ExamController {
 
     private final ExamService examService;
+    private final ExamImportService examImportService;
+    private final StreamingExport streamingExport;
 
     @GetMapping
-    public ResponseEntity<List<Exam>> getAllExams() {
-        List<Exam> exams = examService.getAllExams();
-        return ResponseEntity.ok(exams);
+    public ResponseEntity<List<ExamRow>> getAllExams(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<ExamRow> exams = examService.getExamRows(page);
+        return KeysetPagination.ok(exams, page, ExamRow::id);
+    }
+
+    /**
+     * Streams every exam result as NDJSON (default) or CSV.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExams(
+            @RequestParam(required = false) String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return streamingExport.ok("exams", ExportFormat.from(format), acceptEncoding, ExamRow.CSV_COLUMNS, ExamRow::csvValues,
+                examService::exportExamRows);
     }
 
     @GetMapping("/{id}")
@@ -58,6 +89,18 @@ public class ExamController {
         return ResponseEntity.status(HttpStatus.CREATED).body(exams);
     }
 
+    /**
+     * Streaming variant of /bulk for very large uploads: rows are parsed and written in chunks.
+     */
+    @PostMapping(value = "/bulk/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResponse> streamBulkExams(
+            @RequestParam(required = false) Long subjectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate examDate,
+            InputStream body) throws IOException {
+        BulkImportResponse response = examImportService.importExams(body, subjectId, examDate);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Exam> updateExam(@PathVariable Long id, @Valid @RequestBody ExamRequest examRequest) {
         Exam exam = examService.updateExam(id, examRequest);
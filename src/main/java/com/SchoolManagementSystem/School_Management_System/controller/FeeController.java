@@ -1,15 +1,25 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
+import com.SchoolManagementSystem.School_Management_System.dto.ClassFeeRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ClassFeeResponse;
 import com.SchoolManagementSystem.School_Management_System.dto.FeeRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.FeeRow;
 import com.SchoolManagementSystem.School_Management_System.dto.FeeUpdateRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.DomainException;
 import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.FeePayment;
 import com.SchoolManagementSystem.School_Management_System.service.FeeService;
+import com.SchoolManagementSystem.School_Management_System.util.ExportFormat;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -22,65 +32,82 @@ import java.util.Map;
 public class FeeController {
 
     private final FeeService feeService;
+    private final StreamingExport streamingExport;
 
     @GetMapping
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<Fee>> getAllFees() {
-        List<Fee> fees = feeService.getAllFees();
-        return ResponseEntity.ok(fees);
+    public ResponseEntity<List<FeeRow>> getAllFees(
+            @RequestParam(required = false) String category,
+            @RequestParam(name = "class", required = false) String className,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String term,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<FeeRow> fees = feeService.getFeeRows(category, className, academicYear, term, status, page);
+        return KeysetPagination.ok(fees, page, FeeRow::id);
+    }
+
+    /**
+     * Streams every fee matching the list filters as NDJSON (default) or CSV.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFees(
+            @RequestParam(required = false) String category,
+            @RequestParam(name = "class", required = false) String className,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String term,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return streamingExport.ok("fees", ExportFormat.from(format), acceptEncoding, FeeRow.CSV_COLUMNS, FeeRow::csvValues,
+                sink -> feeService.exportFeeRows(category, className, academicYear, term, status, sink));
     }
 
     @GetMapping("/category/{category}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByCategory(@PathVariable String category) {
         List<Fee> fees = feeService.getFeesByCategory(category);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/student/{studentId}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByStudent(@PathVariable Long studentId) {
         List<Fee> fees = feeService.getFeesByStudent(studentId);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/subject/{subjectId}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesBySubject(@PathVariable Long subjectId) {
         List<Fee> fees = feeService.getFeesBySubject(subjectId);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/status/{status}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByStatus(@PathVariable String status) {
         List<Fee> fees = feeService.getFeesByStatus(status);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/class/{className}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByClass(@PathVariable String className) {
         List<Fee> fees = feeService.getFeesByClass(className);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/academic-year/{academicYear}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByAcademicYear(@PathVariable String academicYear) {
         List<Fee> fees = feeService.getFeesByAcademicYear(academicYear);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/term/{term}")
-    @Transactional(readOnly = true)
     public ResponseEntity<List<Fee>> getFeesByTerm(@PathVariable String term) {
         List<Fee> fees = feeService.getFeesByTerm(term);
         return ResponseEntity.ok(fees);
     }
 
     @GetMapping("/summary")
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getFeeSummary() {
         FeeService.FeeSummaryStatistics stats = feeService.getFeeSummaryStatistics();
         
@@ -103,7 +130,6 @@ public class FeeController {
     }
 
     @PostMapping
-    @Transactional
     public ResponseEntity<?> createFee(@Valid @RequestBody FeeRequest feeRequest) {
         try {
             // Validate required fields manually for better error messages
@@ -129,6 +155,9 @@ public class FeeController {
                 Fee fee = feeService.createSingleFee(feeRequest);
                 return ResponseEntity.status(HttpStatus.CREATED).body(fee);
             }
+        } catch (DomainException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
@@ -138,19 +167,29 @@ public class FeeController {
         }
     }
 
+    /**
+     * Creates the given subject fees for every student currently in the class.
+     */
+    @PostMapping("/class/{className}")
+    public ResponseEntity<ClassFeeResponse> createClassFees(@PathVariable String className,
+                                                            @Valid @RequestBody ClassFeeRequest classFeeRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(feeService.createClassFees(className, classFeeRequest));
+    }
+
     @GetMapping("/{id}")
-    @Transactional(readOnly = true)
     public ResponseEntity<Fee> getFeeById(@PathVariable Long id) {
         Fee fee = feeService.getFeeById(id);
         return ResponseEntity.ok(fee);
     }
 
     @PutMapping("/{id}")
-    @Transactional
     public ResponseEntity<?> updateFee(@PathVariable Long id, @RequestBody FeeUpdateRequest updateRequest) {
         try {
             Fee fee = feeService.updateFee(id, updateRequest);
             return ResponseEntity.ok(fee);
+        } catch (DomainException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
@@ -161,7 +200,6 @@ public class FeeController {
     }
 
     @PostMapping("/{id}/payment")
-    @Transactional
     public ResponseEntity<?> addPayment(@PathVariable Long id, @RequestBody Map<String, Double> paymentRequest) {
         try {
             Double paymentAmount = paymentRequest.get("amount");
@@ -171,18 +209,28 @@ public class FeeController {
             }
             Fee fee = feeService.addPayment(id, paymentAmount);
             return ResponseEntity.ok(fee);
+        } catch (DomainException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         }
     }
 
+    @GetMapping("/{id}/payments")
+    public ResponseEntity<List<FeePayment>> getPayments(@PathVariable Long id) {
+        return ResponseEntity.ok(feeService.getPayments(id));
+    }
+
     @PatchMapping("/{id}/status")
-    @Transactional
     public ResponseEntity<?> updateFeeStatus(@PathVariable Long id, @RequestBody FeeUpdateRequest updateRequest) {
         try {
             Fee fee = feeService.updateFee(id, updateRequest);
             return ResponseEntity.ok(fee);
+        } catch (DomainException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
@@ -190,7 +238,6 @@ public class FeeController {
     }
 
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<Void> deleteFee(@PathVariable Long id) {
         feeService.deleteFee(id);
         return ResponseEntity.noContent().build();
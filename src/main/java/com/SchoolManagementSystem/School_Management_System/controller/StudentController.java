@@ -1,14 +1,26 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
+import com.SchoolManagementSystem.School_Management_System.dto.BulkImportResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.ClassDeletionResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ReportCard;
 import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentSummary;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.service.ReportCardService;
+import com.SchoolManagementSystem.School_Management_System.service.StudentImportService;
 import com.SchoolManagementSystem.School_Management_System.service.StudentService;
+import com.SchoolManagementSystem.School_Management_System.util.ExportFormat;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,16 +31,22 @@ import java.util.Optional;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final ReportCardService reportCardService;
 
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<List<StudentSummary>> getAllStudents(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<StudentSummary> students = page != null ? studentService.getStudentsPage(page) : studentService.getAllStudents();
+        return KeysetPagination.ok(students, page, StudentSummary::id);
     }
 
     @GetMapping("/class/{className}")
-    public ResponseEntity<List<Student>> getStudentsByClass(@PathVariable String className) {
-        List<Student> students = studentService.getStudentsByClass(className);
+    public ResponseEntity<List<StudentSummary>> getStudentsByClass(@PathVariable String className) {
+        List<StudentSummary> students = studentService.getStudentsByClass(className);
         return ResponseEntity.ok(students);
     }
 
@@ -39,18 +57,46 @@ public class StudentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Exam averages and pass/fail counts, attendance rate and outstanding fees per subject and in total.
+     */
+    @GetMapping("/{id}/report-card")
+    public ResponseEntity<ReportCard> getReportCard(@PathVariable Long id) {
+        return ResponseEntity.ok(reportCardService.getReportCard(id));
+    }
+
     @PostMapping
     public ResponseEntity<Student> createStudent(@Valid @RequestBody StudentRequest studentRequest) {
         Student student = studentService.createStudent(studentRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(student);
     }
 
+    /**
+     * Bulk onboarding: a CSV upload with a header row, or NDJSON with one StudentRequest per line.
+     * Valid rows are created; the response lists the rejected lines.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BulkImportResponse> importStudents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        BulkImportResponse response = studentImportService.importStudents(body, ExportFormat.fromContentType(contentType));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Student> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentRequest studentRequest) {
         Student student = studentService.updateStudent(id, studentRequest);
         return ResponseEntity.ok(student);
     }
 
+    /**
+     * Deletes every student in the class with their exams, attendance and fees, in chunks.
+     */
+    @DeleteMapping("/class/{className}")
+    public ResponseEntity<ClassDeletionResponse> deleteClass(@PathVariable String className) {
+        return ResponseEntity.ok(studentService.deleteClass(className));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
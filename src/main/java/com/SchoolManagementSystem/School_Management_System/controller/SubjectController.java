@@ -1,13 +1,14 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.SubjectRequest;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
 import com.SchoolManagementSystem.School_Management_System.service.SubjectService;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,14 +23,16 @@ public class SubjectController {
     private final SubjectService subjectService;
 
     @GetMapping
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<Subject>> getAllSubjects() {
-        List<Subject> subjects = subjectService.getAllSubjects();
-        return ResponseEntity.ok(subjects);
+    public ResponseEntity<List<Subject>> getAllSubjects(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<Subject> subjects = page != null ? subjectService.getSubjectsPage(page) : subjectService.getAllSubjects();
+        return KeysetPagination.ok(subjects, page, Subject::getId);
     }
 
     @GetMapping("/{id}")
-    @Transactional(readOnly = true)
     public ResponseEntity<Subject> getSubjectById(@PathVariable Long id) {
         Optional<Subject> subject = subjectService.getSubjectById(id);
         return subject.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
@@ -1,8 +1,10 @@
 package com.SchoolManagementSystem.School_Management_System.controller;
 
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
 import com.SchoolManagementSystem.School_Management_System.model.Teacher;
 import com.SchoolManagementSystem.School_Management_System.service.TeacherService;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,9 +23,13 @@ public class TeacherController {
     private final TeacherService teacherService;
 
     @GetMapping
-    public ResponseEntity<List<Teacher>> getAllTeachers() {
-        List<Teacher> teachers = teacherService.getAllTeachers();
-        return ResponseEntity.ok(teachers);
+    public ResponseEntity<List<Teacher>> getAllTeachers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String sort) {
+        KeysetPageRequest page = KeysetPageRequest.of(limit, after, sort);
+        List<Teacher> teachers = page != null ? teacherService.getTeachersPage(page) : teacherService.getAllTeachers();
+        return KeysetPagination.ok(teachers, page, Teacher::getId);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,7 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+/**
+ * Outcome of rebuilding the attendance bitmaps from the attendance table.
+ */
+public record AttendanceBitmapMigration(int bitmaps, long records) {
+}
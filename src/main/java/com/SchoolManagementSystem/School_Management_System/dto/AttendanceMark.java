@@ -0,0 +1,11 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One attendance record reduced to the fields a bitmap holds.
+ */
+public record AttendanceMark(Long studentId, Long subjectId, LocalDate date, AttendanceStatus status) {
+}
@@ -0,0 +1,21 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+/**
+ * Present/absent counts of one student, subject or class, with the attendance rate in percent.
+ * The id is null for classes, which are identified by name only.
+ */
+public record AttendanceRate(Long id, String name, long present, long absent, double rate) {
+
+    public AttendanceRate(Long id, String name, long present, long absent) {
+        this(id, name, present, absent, percent(present, absent));
+    }
+
+    public AttendanceRate(String name, long present, long absent) {
+        this(null, name, present, absent);
+    }
+
+    static double percent(long present, long absent) {
+        long total = present + absent;
+        return total > 0 ? (double) present / total * 100 : 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read model of an attendance record for list endpoints, filled by a JPQL constructor expression.
+ */
+public record AttendanceRow(Long id,
+                            StudentRef student,
+                            SubjectRef subject,
+                            LocalDate date,
+                            AttendanceStatus status) {
+
+    /**
+     * Column order of the CSV export.
+     */
+    public static final List<String> CSV_COLUMNS = List.of("id", "studentId", "studentName", "studentEmail", "class",
+            "subjectId", "subjectName", "subjectCode", "date", "status");
+
+    /**
+     * Flat constructor used by the JPQL constructor expression.
+     */
+    public AttendanceRow(Long id,
+                         Long studentId, String studentName, String studentEmail, String studentClassName,
+                         Long subjectId, String subjectName, String subjectCode,
+                         LocalDate date, AttendanceStatus status) {
+        this(id,
+                new StudentRef(studentId, studentName, studentEmail, studentClassName),
+                new SubjectRef(subjectId, subjectName, subjectCode),
+                date, status);
+    }
+
+    public List<Object> csvValues() {
+        return Arrays.asList(id, student.id(), student.name(), student.email(), student.className(),
+                subject.id(), subject.name(), subject.code(), date, status);
+    }
+}
@@ -0,0 +1,13 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Present/absent counts of one week, starting on its Monday, with the attendance rate in percent.
+ */
+public record AttendanceWeek(LocalDate week, long present, long absent, double rate) {
+
+    public AttendanceWeek(LocalDate week, long present, long absent) {
+        this(week, present, absent, AttendanceRate.percent(present, absent));
+    }
+}
@@ -0,0 +1,29 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceResponse {
+    private int created;
+    private int updated;
+    private int failed;
+    private List<RowResult> results = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int index; // position in studentAttendances
+        private Long studentId;
+        private String outcome; // CREATED, UPDATED, UNCHANGED, FAILED
+        private Long attendanceId;
+        private String error;
+    }
+}
@@ -0,0 +1,46 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a streamed import. Only failed rows are listed so the report stays small
+ * however large the upload is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processed;
+    private long created;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long index, String error) {
+        addError(index, null, error);
+    }
+
+    public void addError(long index, Long line, String error) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(index, line, error));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long index; // zero-based position of the row in the upload
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long line; // one-based line of the upload where the row starts, for line-oriented formats
+        private String error;
+    }
+}
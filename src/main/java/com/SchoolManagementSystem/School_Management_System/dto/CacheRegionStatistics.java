@@ -0,0 +1,20 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of one second-level cache region since startup (or the last reset).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatistics {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long entries; // -1 when the provider does not report a size
+    private double hitRatio;
+}
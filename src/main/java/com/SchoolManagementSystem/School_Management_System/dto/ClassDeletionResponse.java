@@ -0,0 +1,12 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+/**
+ * Rows removed by deleting a whole class.
+ */
+public record ClassDeletionResponse(String className, int students, int exams, int attendance, int fees) {
+
+    public ClassDeletionResponse plus(ClassDeletionResponse chunk) {
+        return new ClassDeletionResponse(className, students + chunk.students, exams + chunk.exams,
+                attendance + chunk.attendance, fees + chunk.fees);
+    }
+}
@@ -0,0 +1,37 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fees for every student of a class: each student gets one fee per subject, with the total
+ * amount split evenly across the subjects as in {@link FeeRequest}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassFeeRequest {
+    @NotEmpty(message = "At least one subject ID is required")
+    private List<Long> subjectIds;
+
+    @NotNull(message = "Total amount is required")
+    @Positive(message = "Total amount must be greater than 0")
+    private Double totalAmount;
+
+    private String discountType = "percentage"; // "percentage" or "fixed"
+
+    private Double discountValue = 0.0;
+
+    private LocalDate paymentDate;
+
+    private String academicYear;
+
+    private String term;
+}
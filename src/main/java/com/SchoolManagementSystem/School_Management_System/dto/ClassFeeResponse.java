@@ -0,0 +1,7 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+/**
+ * Outcome of creating fees for a whole class.
+ */
+public record ClassFeeResponse(String className, int students, int feesCreated, double totalAmountDue) {
+}
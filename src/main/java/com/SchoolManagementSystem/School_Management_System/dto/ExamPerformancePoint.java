@@ -0,0 +1,14 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamPerformancePoint {
+    private String month; // YYYY-MM
+    private long passed;
+    private long failed;
+}
@@ -0,0 +1,41 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read model of an exam result for list endpoints, filled by a JPQL constructor expression.
+ */
+public record ExamRow(Long id,
+                      SubjectRef subject,
+                      StudentRef student,
+                      LocalDate examDate,
+                      Integer totalMarks,
+                      Integer obtainedMarks) {
+
+    /**
+     * Column order of the CSV export.
+     */
+    public static final List<String> CSV_COLUMNS = List.of("id", "subjectId", "subjectName", "subjectCode",
+            "studentId", "studentName", "studentEmail", "class", "examDate", "totalMarks", "obtainedMarks");
+
+    /**
+     * Flat constructor used by the JPQL constructor expression.
+     */
+    public ExamRow(Long id,
+                   Long subjectId, String subjectName, String subjectCode,
+                   Long studentId, String studentName, String studentEmail, String studentClassName,
+                   LocalDate examDate, Integer totalMarks, Integer obtainedMarks) {
+        this(id,
+                new SubjectRef(subjectId, subjectName, subjectCode),
+                new StudentRef(studentId, studentName, studentEmail, studentClassName),
+                examDate, totalMarks, obtainedMarks);
+    }
+
+    public List<Object> csvValues() {
+        return Arrays.asList(id, subject.id(), subject.name(), subject.code(),
+                student.id(), student.name(), student.email(), student.className(),
+                examDate, totalMarks, obtainedMarks);
+    }
+}
@@ -0,0 +1,60 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read model of a fee for list endpoints, filled by a JPQL constructor expression. Unlike the
+ * entity it is never managed, proxied or dirty-checked; the JSON keeps the entity's field names
+ * with a reduced student and subject.
+ */
+public record FeeRow(Long id,
+                     StudentRef student,
+                     SubjectRef subject,
+                     String invoiceNumber,
+                     Double totalAmount,
+                     String discountType,
+                     Double discountValue,
+                     Double discountAmount,
+                     Double amountDue,
+                     Double amountPaid,
+                     Double balance,
+                     Double finalAmount,
+                     String category,
+                     LocalDate paymentDate,
+                     String status,
+                     String academicYear,
+                     String term) {
+
+    /**
+     * Column order of the CSV export.
+     */
+    public static final List<String> CSV_COLUMNS = List.of("id", "studentId", "studentName", "studentEmail", "class",
+            "subjectId", "subjectName", "subjectCode", "invoiceNumber", "totalAmount", "discountType", "discountValue",
+            "discountAmount", "amountDue", "amountPaid", "balance", "finalAmount", "category", "paymentDate", "status",
+            "academicYear", "term");
+
+    /**
+     * Flat constructor used by the JPQL constructor expression.
+     */
+    public FeeRow(Long id,
+                  Long studentId, String studentName, String studentEmail, String studentClassName,
+                  Long subjectId, String subjectName, String subjectCode,
+                  String invoiceNumber, Double totalAmount, String discountType, Double discountValue,
+                  Double discountAmount, Double amountDue, Double amountPaid, Double balance, Double finalAmount,
+                  String category, LocalDate paymentDate, String status, String academicYear, String term) {
+        this(id,
+                new StudentRef(studentId, studentName, studentEmail, studentClassName),
+                new SubjectRef(subjectId, subjectName, subjectCode),
+                invoiceNumber, totalAmount, discountType, discountValue, discountAmount, amountDue, amountPaid,
+                balance, finalAmount, category, paymentDate, status, academicYear, term);
+    }
+
+    public List<Object> csvValues() {
+        return Arrays.asList(id, student.id(), student.name(), student.email(), student.className(),
+                subject.id(), subject.name(), subject.code(), invoiceNumber, totalAmount, discountType, discountValue,
+                discountAmount, amountDue, amountPaid, balance, finalAmount, category, paymentDate, status,
+                academicYear, term);
+    }
+}
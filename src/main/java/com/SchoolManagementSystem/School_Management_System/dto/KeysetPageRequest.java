@@ -0,0 +1,61 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset (cursor) page on the id column: {@code limit} rows after the id given as cursor,
+ * in ascending or descending id order. The cursor is expressed as an exclusive id range, so
+ * every page is a single index range scan no matter how deep the client has paged.
+ */
+public record KeysetPageRequest(Long after, int limit, Sort.Direction direction) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    /** Whole list in id order, for endpoints called without paging parameters. */
+    public static final KeysetPageRequest UNPAGED = new KeysetPageRequest(null, 0, Sort.Direction.ASC);
+
+    /**
+     * Builds a page request from the limit/after/sort query parameters, or returns null when none
+     * of them is present so the endpoint keeps returning the full list.
+     */
+    public static KeysetPageRequest of(Integer limit, Long after, String sort) {
+        if (limit == null && after == null && sort == null) {
+            return null;
+        }
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new ValidationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Sort.Direction direction;
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("asc")) {
+            direction = Sort.Direction.ASC;
+        } else if (sort.equalsIgnoreCase("desc")) {
+            direction = Sort.Direction.DESC;
+        } else {
+            throw new ValidationException("Invalid sort: " + sort + ". Use asc or desc");
+        }
+        return new KeysetPageRequest(after, pageSize, direction);
+    }
+
+    /** Exclusive lower id bound of the page. */
+    public long lowerBound() {
+        return after != null && direction.isAscending() ? after : Long.MIN_VALUE;
+    }
+
+    /** Exclusive upper id bound of the page. */
+    public long upperBound() {
+        return after != null && direction.isDescending() ? after : Long.MAX_VALUE;
+    }
+
+    public Sort sort() {
+        return Sort.by(direction, "id");
+    }
+
+    /** One row more than the page size, so the presence of a next page is known without a count query. */
+    public Limit probeLimit() {
+        return this == UNPAGED ? Limit.unlimited() : Limit.of(limit + 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A student's exam results, attendance and fees, per subject and in total. Percentages are
+ * null when there is nothing to average; an exam counts as passed at 50% of its total marks.
+ */
+public record ReportCard(Long studentId,
+                         String name,
+                         @JsonProperty("class") String className,
+                         List<SubjectReport> subjects,
+                         long exams,
+                         Double averagePercentage,
+                         long passed,
+                         long failed,
+                         long present,
+                         long absent,
+                         Double attendanceRate,
+                         double outstandingBalance) {
+
+    public record SubjectReport(Long subjectId,
+                                String name,
+                                String code,
+                                long exams,
+                                Double averagePercentage,
+                                long passed,
+                                long failed,
+                                long present,
+                                long absent,
+                                Double attendanceRate,
+                                double amountDue,
+                                double amountPaid,
+                                double outstandingBalance) {
+    }
+}
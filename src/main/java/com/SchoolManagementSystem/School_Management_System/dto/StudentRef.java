@@ -0,0 +1,9 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Student fields embedded in read-model rows, serialized under the same names as the Student entity.
+ */
+public record StudentRef(Long id, String name, String email, @JsonProperty("class") String className) {
+}
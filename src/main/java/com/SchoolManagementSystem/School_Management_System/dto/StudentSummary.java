@@ -0,0 +1,24 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Student as returned by the list endpoints: the Student entity's own fields and its subjects,
+ * serialized under the same names, without the exam, attendance and fee history.
+ */
+public record StudentSummary(Long id,
+                             String name,
+                             String email,
+                             String phone,
+                             String gender,
+                             String address,
+                             LocalDate dateOfBirth,
+                             @JsonProperty("class") String className,
+                             String parentName,
+                             String parentPhone,
+                             Double discount,
+                             List<SubjectRef> subjects) {
+}
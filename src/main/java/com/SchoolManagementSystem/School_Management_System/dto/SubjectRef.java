@@ -0,0 +1,7 @@
+package com.SchoolManagementSystem.School_Management_System.dto;
+
+/**
+ * Subject fields embedded in read-model rows, serialized under the same names as the Subject entity.
+ */
+public record SubjectRef(Long id, String name, String code) {
+}
@@ -0,0 +1,18 @@
+package com.SchoolManagementSystem.School_Management_System.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The request clashes with existing data, e.g. a duplicate email or subject code.
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,18 @@
+package com.SchoolManagementSystem.School_Management_System.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected failures raised by the services (unknown id, duplicate key, bad input).
+ * These are part of normal request handling, so they skip stack trace capture and suppression:
+ * throwing one costs little more than allocating the exception itself.
+ * {@link GlobalExceptionHandler} maps each subtype to its HTTP status.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+}
@@ -0,0 +1,37 @@
+package com.SchoolManagementSystem.School_Management_System.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An entity looked up by id does not exist. The message is only formatted when it is read, so
+ * clients polling stale ids do not pay for string building on every miss.
+ */
+public class NotFoundException extends DomainException {
+
+    private final String entity;
+    private final Object id;
+
+    public NotFoundException(String entity, Object id) {
+        super(null);
+        this.entity = entity;
+        this.id = id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return entity + " not found with id: " + id;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
@@ -0,0 +1,18 @@
+package com.SchoolManagementSystem.School_Management_System.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The request is malformed or breaks a business rule the service checks itself.
+ */
+public class ValidationException extends DomainException {
+
+    public ValidationException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,45 @@
+package com.SchoolManagementSystem.School_Management_System.mapper;
+
+import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentSummary;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * Request to entity mapping for students, generated at compile time (StudentMapperImpl).
+ * Subjects are resolved from subjectIds by the callers; an unmapped entity field fails the build.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface StudentMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "subjects", ignore = true)
+    @Mapping(target = "exams", ignore = true)
+    @Mapping(target = "attendances", ignore = true)
+    @Mapping(target = "fees", ignore = true)
+    @Mapping(target = "discount", defaultValue = "0.0")
+    Student toStudent(StudentRequest request);
+
+    /**
+     * Copies the request's basic fields onto an existing student; nulls clear the field.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "subjects", ignore = true)
+    @Mapping(target = "exams", ignore = true)
+    @Mapping(target = "attendances", ignore = true)
+    @Mapping(target = "fees", ignore = true)
+    @Mapping(target = "discount", defaultValue = "0.0")
+    void updateStudent(StudentRequest request, @MappingTarget Student student);
+
+    /**
+     * List view of a student; only the subjects collection is read.
+     */
+    StudentSummary toSummary(Student student);
+
+    List<StudentSummary> toSummaries(List<Student> students);
+}
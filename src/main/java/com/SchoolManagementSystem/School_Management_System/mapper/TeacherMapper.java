@@ -0,0 +1,26 @@
+package com.SchoolManagementSystem.School_Management_System.mapper;
+
+import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Request to entity mapping for teachers, generated at compile time (TeacherMapperImpl).
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TeacherMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "subjects", ignore = true)
+    Teacher toTeacher(TeacherRequest request);
+
+    /**
+     * Copies the request onto an existing teacher; nulls clear the field.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "subjects", ignore = true)
+    void updateTeacher(TeacherRequest request, @MappingTarget Teacher teacher);
+}
@@ -9,13 +9,22 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "attendance")
+// One row per student, subject and day; resubmitted roll calls update it (see AttendanceService.upsertBulkAttendance)
+@Table(name = "attendance", uniqueConstraints = @UniqueConstraint(
+        name = Attendance.UNIQUE_KEY, columnNames = {"student_id", "subject_id", "date"}), indexes = {
+        @Index(name = "idx_attendance_student_date", columnList = "student_id, date"),
+        @Index(name = "idx_attendance_subject_date", columnList = "subject_id, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Attendance {
+    public static final String UNIQUE_KEY = "uk_attendance_student_subject_date";
+
+    // Sequence ids with pooled allocation keep Hibernate JDBC batching enabled for bulk roll calls
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,64 @@
+package com.SchoolManagementSystem.School_Management_System.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Compact form of a student's attendance in one subject over one school year: bit {@code i} of
+ * each bitmap is the day {@code yearStart + i}. {@code recorded} marks the days with a roll call
+ * and {@code present} the days the student was present, so absent days are recorded but not present.
+ * One row of two 46-byte bitmaps replaces up to 366 attendance rows.
+ */
+@Entity
+@Table(name = "attendance_bitmaps")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBitmap {
+    public static final int DAYS = 366;
+    public static final int BYTES = (DAYS + 7) / 8;
+
+    @EmbeddedId
+    private Key id;
+
+    // The database removes the bitmaps together with their student or subject
+    @MapsId("studentId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Student student;
+
+    @MapsId("subjectId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subject_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Subject subject;
+
+    @Column(name = "recorded", nullable = false, length = BYTES)
+    private byte[] recorded;
+
+    @Column(name = "present", nullable = false, length = BYTES)
+    private byte[] present;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long studentId;
+        private Long subjectId;
+
+        @Column(name = "year_start")
+        private LocalDate yearStart;
+    }
+}
@@ -0,0 +1,82 @@
+package com.SchoolManagementSystem.School_Management_System.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Materialized dashboard figures for one school year, or for the "ALL" scope, which holds
+ * school-wide totals (students, teachers and subjects only live there). Each scope is split
+ * into {@link #SLOTS} rows that writers pick at random, so concurrent writes rarely wait on
+ * the same row lock; a scope's figures are the sum of its slots.
+ */
+@Entity
+@Table(name = "dashboard_counter_slots")
+@IdClass(DashboardCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardCounter {
+    public static final String ALL_SCOPE = "ALL";
+    public static final int SLOTS = 8;
+
+    @Id
+    @Column(length = 64)
+    private String scope;
+
+    @Id
+    private int slot;
+
+    @Column(name = "total_students", nullable = false)
+    private long totalStudents;
+
+    @Column(name = "total_teachers", nullable = false)
+    private long totalTeachers;
+
+    @Column(name = "total_subjects", nullable = false)
+    private long totalSubjects;
+
+    @Column(name = "passed_exams", nullable = false)
+    private long passedExams;
+
+    @Column(name = "failed_exams", nullable = false)
+    private long failedExams;
+
+    @Column(name = "present_count", nullable = false)
+    private long presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private long absentCount;
+
+    @Column(name = "fees_collected", nullable = false)
+    private double feesCollected;
+
+    public DashboardCounter(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Add another slot of the same scope to this one.
+     */
+    public void add(DashboardCounter other) {
+        totalStudents += other.totalStudents;
+        totalTeachers += other.totalTeachers;
+        totalSubjects += other.totalSubjects;
+        passedExams += other.passedExams;
+        failedExams += other.failedExams;
+        presentCount += other.presentCount;
+        absentCount += other.absentCount;
+        feesCollected += other.feesCollected;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String scope;
+        private int slot;
+    }
+}
@@ -9,13 +9,18 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "exams")
+@Table(name = "exams", indexes = {
+        @Index(name = "idx_exams_exam_date", columnList = "exam_date"),
+        @Index(name = "idx_exams_student_id", columnList = "student_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Exam {
+    // Sequence ids with pooled allocation keep Hibernate JDBC batching enabled for bulk mark uploads
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exams_seq")
+    @SequenceGenerator(name = "exams_seq", sequenceName = "exams_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -9,13 +9,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "fees")
+@Table(name = "fees", indexes = {
+        @Index(name = "idx_fees_category", columnList = "category"),
+        @Index(name = "idx_fees_academic_year_term", columnList = "academic_year, term"),
+        @Index(name = "idx_fees_status", columnList = "status"),
+        @Index(name = "idx_fees_student_id", columnList = "student_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Fee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fees_seq")
+    @SequenceGenerator(name = "fees_seq", sequenceName = "fees_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,41 @@
+package com.SchoolManagementSystem.School_Management_System.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One payment posted against a fee. Rows are only ever inserted; the fee's amountPaid, balance
+ * and status are the running result of these rows, updated in the same transaction.
+ */
+@Entity
+@Table(name = "fee_payments", indexes = {
+        @Index(name = "idx_fee_payments_fee_id", columnList = "fee_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeePayment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The database removes a fee's payments together with the fee
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "fee_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Fee fee;
+
+    @Column(name = "amount", nullable = false)
+    private Double amount;
+
+    @Column(name = "paid_at", nullable = false)
+    private LocalDateTime paidAt;
+}
@@ -0,0 +1,26 @@
+package com.SchoolManagementSystem.School_Management_System.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Next unallocated invoice suffix for a day. Nodes reserve blocks of suffixes from this row
+ * and hand them out from memory.
+ */
+@Entity
+@Table(name = "invoice_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceCounter {
+    @Id
+    @Column(name = "invoice_date")
+    private LocalDate invoiceDate;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
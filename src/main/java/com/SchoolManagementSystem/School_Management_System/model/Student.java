@@ -12,13 +12,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = @Index(name = "idx_students_class", columnList = "class"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
+    // Sequence ids with pooled allocation keep Hibernate JDBC batching enabled for bulk student imports
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
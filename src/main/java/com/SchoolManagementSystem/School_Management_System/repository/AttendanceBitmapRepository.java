@@ -0,0 +1,52 @@
+package com.SchoolManagementSystem.School_Management_System.repository;
+
+import com.SchoolManagementSystem.School_Management_System.model.AttendanceBitmap;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceBitmapRepository extends JpaRepository<AttendanceBitmap, AttendanceBitmap.Key> {
+
+    /**
+     * Creates empty bitmaps for the students that have none yet for this subject and school year.
+     * Concurrent roll calls may both try to create the same bitmap, so an existing one is skipped
+     * instead of failing the transaction.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "attendance_bitmaps"))
+    @Query(value = """
+            INSERT INTO attendance_bitmaps (student_id, subject_id, year_start, recorded, present)
+            SELECT s.id, :subjectId, :yearStart, :empty, :empty FROM students s WHERE s.id IN (:studentIds)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(@Param("subjectId") Long subjectId, @Param("yearStart") LocalDate yearStart,
+                      @Param("studentIds") Collection<Long> studentIds, @Param("empty") byte[] empty);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AttendanceBitmap b WHERE b.id.subjectId = :subjectId AND b.id.yearStart = :yearStart " +
+            "AND b.id.studentId IN :studentIds")
+    List<AttendanceBitmap> findForUpdate(@Param("subjectId") Long subjectId, @Param("yearStart") LocalDate yearStart,
+                                         @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT b FROM AttendanceBitmap b WHERE b.id.studentId = :studentId " +
+            "AND b.id.yearStart BETWEEN :firstYear AND :lastYear AND (:subjectId IS NULL OR b.id.subjectId = :subjectId)")
+    List<AttendanceBitmap> findByStudent(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId,
+                                         @Param("firstYear") LocalDate firstYear, @Param("lastYear") LocalDate lastYear);
+
+    @Query("SELECT b FROM AttendanceBitmap b JOIN b.student s WHERE s.className = :className " +
+            "AND b.id.yearStart BETWEEN :firstYear AND :lastYear AND (:subjectId IS NULL OR b.id.subjectId = :subjectId)")
+    List<AttendanceBitmap> findByClass(@Param("className") String className, @Param("subjectId") Long subjectId,
+                                       @Param("firstYear") LocalDate firstYear, @Param("lastYear") LocalDate lastYear);
+}
@@ -1,16 +1,39 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceMark;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRow;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceWeek;
 import com.SchoolManagementSystem.School_Management_System.model.Attendance;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    // Present/absent counts for the analytics projections below
+    String PRESENT_ABSENT_COUNTS =
+            "COUNT(CASE WHEN a.status = com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus.PRESENT THEN 1 END), " +
+            "COUNT(CASE WHEN a.status = com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus.ABSENT THEN 1 END)";
+
     List<Attendance> findByStudent(Student student);
 
     List<Attendance> findBySubject(Subject subject);
@@ -20,4 +43,98 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByDate(LocalDate date);
 
     List<Attendance> findByStudentAndDate(Student student, LocalDate date);
+
+    boolean existsByStudentIdAndSubjectIdAndDate(Long studentId, Long subjectId, LocalDate date);
+
+    boolean existsByStudentIdAndSubjectIdAndDateAndIdNot(Long studentId, Long subjectId, LocalDate date, Long id);
+
+    /**
+     * Records of a roll call that already exist for the given students, found through the unique key.
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.subject.id = :subjectId AND a.date = :date AND a.student.id IN :studentIds")
+    List<Attendance> findRecorded(@Param("subjectId") Long subjectId, @Param("date") LocalDate date,
+                                  @Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Same as {@link #findRecorded}, but locks the rows so their status cannot change before it is compared and overwritten.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.subject.id = :subjectId AND a.date = :date AND a.student.id IN :studentIds")
+    List<Attendance> findRecordedForUpdate(@Param("subjectId") Long subjectId, @Param("date") LocalDate date,
+                                           @Param("studentIds") Collection<Long> studentIds);
+
+    // Fetch plans for endpoints that return Attendance entities: everything the JSON includes is loaded up front
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    Optional<Attendance> findWithAssociationsById(Long id);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    List<Attendance> findWithAssociationsByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    List<Attendance> findWithAssociationsBySubjectId(Long subjectId);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    List<Attendance> findWithAssociationsByDate(LocalDate date);
+
+    /**
+     * Read-model rows with ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceRow(a.id, s.id, s.name, s.email, s.className, " +
+            "sub.id, sub.name, sub.code, a.date, a.status) " +
+            "FROM Attendance a JOIN a.student s JOIN a.subject sub WHERE a.id > :lower AND a.id < :upper")
+    List<AttendanceRow> findRows(@Param("lower") long lower, @Param("upper") long upper, Sort sort, Limit limit);
+
+    /**
+     * All read-model rows in id order, fetched from a forward-only cursor for exports.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceRow(a.id, s.id, s.name, s.email, s.className, " +
+            "sub.id, sub.name, sub.code, a.date, a.status) " +
+            "FROM Attendance a JOIN a.student s JOIN a.subject sub ORDER BY a.id")
+    Stream<AttendanceRow> streamRows();
+
+    /**
+     * Every record in unique key order, streamed for the bitmap migration.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceMark(a.student.id, a.subject.id, a.date, a.status) " +
+            "FROM Attendance a ORDER BY a.student.id, a.subject.id, a.date")
+    Stream<AttendanceMark> streamMarks();
+
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.student.id IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Attendance analytics: present/absent counts per group for records dated between the bounds (inclusive),
+     * aggregated in the database so only one row per group is returned.
+     */
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate(s.id, s.name, " + PRESENT_ABSENT_COUNTS + ") " +
+            "FROM Attendance a JOIN a.student s WHERE a.date BETWEEN :from AND :to " +
+            "AND (:className IS NULL OR s.className = :className) " +
+            "GROUP BY s.id, s.name ORDER BY s.name, s.id")
+    List<AttendanceRate> countByStudent(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("className") String className);
+
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate(sub.id, sub.name, " + PRESENT_ABSENT_COUNTS + ") " +
+            "FROM Attendance a JOIN a.subject sub WHERE a.date BETWEEN :from AND :to " +
+            "GROUP BY sub.id, sub.name ORDER BY sub.name, sub.id")
+    List<AttendanceRate> countBySubject(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate(s.className, " + PRESENT_ABSENT_COUNTS + ") " +
+            "FROM Attendance a JOIN a.student s WHERE a.date BETWEEN :from AND :to " +
+            "GROUP BY s.className ORDER BY s.className")
+    List<AttendanceRate> countByClass(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.AttendanceWeek(cast(truncate(a.date, week) AS LocalDate), " + PRESENT_ABSENT_COUNTS + ") " +
+            "FROM Attendance a WHERE a.date BETWEEN :from AND :to " +
+            "AND (:subjectId IS NULL OR a.subject.id = :subjectId) " +
+            "GROUP BY cast(truncate(a.date, week) AS LocalDate) ORDER BY 1")
+    List<AttendanceWeek> countByWeek(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("subjectId") Long subjectId);
 }
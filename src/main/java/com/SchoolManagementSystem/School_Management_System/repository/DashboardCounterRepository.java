@@ -0,0 +1,70 @@
+package com.SchoolManagementSystem.School_Management_System.repository;
+
+import com.SchoolManagementSystem.School_Management_System.model.DashboardCounter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, DashboardCounter.Key> {
+
+    List<DashboardCounter> findByScope(String scope);
+
+    /**
+     * Atomically add deltas to one slot of a scope's counters. No read-modify-write, so concurrent
+     * writers never lose increments.
+     * The declared query space limits second-level cache invalidation to dashboard_counter_slots;
+     * without it Hibernate evicts every cache region after a native update.
+     * @return 0 when the scope has no rows yet, see {@link #insertIfAbsent}
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dashboard_counter_slots"))
+    @Query(value = """
+            UPDATE dashboard_counter_slots SET
+                total_students = total_students + :students,
+                total_teachers = total_teachers + :teachers,
+                total_subjects = total_subjects + :subjects,
+                passed_exams = passed_exams + :passed,
+                failed_exams = failed_exams + :failed,
+                present_count = present_count + :present,
+                absent_count = absent_count + :absent,
+                fees_collected = fees_collected + :fees
+            WHERE scope = :scope AND slot = :slot
+            """, nativeQuery = true)
+    int increment(@Param("scope") String scope,
+                  @Param("slot") int slot,
+                  @Param("students") long students,
+                  @Param("teachers") long teachers,
+                  @Param("subjects") long subjects,
+                  @Param("passed") long passed,
+                  @Param("failed") long failed,
+                  @Param("present") long present,
+                  @Param("absent") long absent,
+                  @Param("fees") double fees);
+
+    /**
+     * Create the zeroed slot rows of a scope that do not exist yet, one per slot up to
+     * {@link DashboardCounter#SLOTS}. Losing the race to a concurrent first writer is not
+     * an error, so callers can always increment afterwards.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dashboard_counter_slots"))
+    @Query(value = """
+            INSERT INTO dashboard_counter_slots (scope, slot, total_students, total_teachers, total_subjects,
+                    passed_exams, failed_exams, present_count, absent_count, fees_collected)
+            SELECT CAST(:scope AS VARCHAR(64)), s.slot, 0, 0, 0, 0, 0, 0, 0, 0
+            FROM (VALUES (0), (1), (2), (3), (4), (5), (6), (7)) AS s(slot)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("scope") String scope);
+
+    @Query(value = "SELECT * FROM dashboard_counter_slots WHERE scope = :scope ORDER BY slot FOR UPDATE", nativeQuery = true)
+    List<DashboardCounter> findByScopeForUpdate(@Param("scope") String scope);
+}
@@ -1,12 +1,25 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
+import com.SchoolManagementSystem.School_Management_System.dto.ExamRow;
 import com.SchoolManagementSystem.School_Management_System.model.Exam;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
@@ -15,4 +28,39 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     List<Exam> findBySubject(Subject subject);
 
     List<Exam> findByStudentAndSubject(Student student, Subject subject);
+
+    // Fetch plans for endpoints that return Exam entities: everything the JSON includes is loaded up front
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    Optional<Exam> findWithAssociationsById(Long id);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    List<Exam> findWithAssociationsByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    List<Exam> findWithAssociationsBySubjectId(Long subjectId);
+
+    /**
+     * Read-model rows with ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.ExamRow(e.id, sub.id, sub.name, sub.code, " +
+            "s.id, s.name, s.email, s.className, e.examDate, e.totalMarks, e.obtainedMarks) " +
+            "FROM Exam e JOIN e.subject sub JOIN e.student s WHERE e.id > :lower AND e.id < :upper")
+    List<ExamRow> findRows(@Param("lower") long lower, @Param("upper") long upper, Sort sort, Limit limit);
+
+    /**
+     * All read-model rows in id order, fetched from a forward-only cursor for exports.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.ExamRow(e.id, sub.id, sub.name, sub.code, " +
+            "s.id, s.name, s.email, s.className, e.examDate, e.totalMarks, e.obtainedMarks) " +
+            "FROM Exam e JOIN e.subject sub JOIN e.student s ORDER BY e.id")
+    Stream<ExamRow> streamRows();
+
+    @Modifying
+    @Query("DELETE FROM Exam e WHERE e.student.id IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
 }
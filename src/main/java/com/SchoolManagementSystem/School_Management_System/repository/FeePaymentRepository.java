@@ -0,0 +1,13 @@
+package com.SchoolManagementSystem.School_Management_System.repository;
+
+import com.SchoolManagementSystem.School_Management_System.model.FeePayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeePaymentRepository extends JpaRepository<FeePayment, Long> {
+
+    List<FeePayment> findByFeeIdOrderByIdAsc(Long feeId);
+}
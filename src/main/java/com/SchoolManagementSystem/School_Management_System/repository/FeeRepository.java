@@ -1,23 +1,153 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
+import com.SchoolManagementSystem.School_Management_System.dto.FeeRow;
 import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeeRepository extends JpaRepository<Fee, Long> {
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
     List<Fee> findByStudentId(Long studentId);
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
     List<Fee> findBySubjectId(Long subjectId);
     
     @Query("SELECT f FROM Fee f WHERE YEAR(f.paymentDate) = :year AND MONTH(f.paymentDate) = :month")
     List<Fee> findByPaymentDateYearAndMonth(@Param("year") int year, @Param("month") int month);
     
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
     List<Fee> findByStatus(String status);
+
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    Optional<Fee> findWithAssociationsById(Long id);
+
+    /**
+     * Same as {@link #findWithAssociationsById} but holds the fee's row lock until commit, so a
+     * manual edit cannot overwrite a payment posted between its read and its write.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"student", "subject", "subject.teacher"})
+    @Query("SELECT f FROM Fee f WHERE f.id = :id")
+    Optional<Fee> findWithAssociationsForUpdate(@Param("id") Long id);
+
+    /**
+     * Adds a payment to the fee in one statement and recomputes balance and status from the
+     * values the row holds at that moment, so concurrent payments never overwrite each other.
+     * Returns 0 when the fee does not exist or the payment would exceed the amount due.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Fee f SET f.amountPaid = COALESCE(f.amountPaid, 0) + :amount, " +
+            "f.balance = f.amountDue - (COALESCE(f.amountPaid, 0) + :amount), " +
+            "f.status = CASE WHEN COALESCE(f.amountPaid, 0) + :amount >= f.amountDue THEN 'PAID' ELSE 'PARTIAL' END " +
+            "WHERE f.id = :id AND COALESCE(f.amountPaid, 0) + :amount <= f.amountDue")
+    int applyPayment(@Param("id") Long id, @Param("amount") Double amount);
+
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student JOIN FETCH f.subject sub LEFT JOIN FETCH sub.teacher WHERE f.category = :category")
+    List<Fee> findByCategory(@Param("category") String category);
+
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH f.subject sub LEFT JOIN FETCH sub.teacher WHERE s.className = :className")
+    List<Fee> findByStudentClassName(@Param("className") String className);
+
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student JOIN FETCH f.subject sub LEFT JOIN FETCH sub.teacher WHERE f.academicYear = :academicYear")
+    List<Fee> findByAcademicYear(@Param("academicYear") String academicYear);
+
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student JOIN FETCH f.subject sub LEFT JOIN FETCH sub.teacher WHERE f.term = :term")
+    List<Fee> findByTerm(@Param("term") String term);
+
+    /**
+     * Composite filter behind GET /api/fees. Null parameters are ignored, so each
+     * supplied filter narrows the result on an indexed column.
+     */
+    @Query("SELECT f FROM Fee f JOIN FETCH f.student s JOIN FETCH f.subject sub LEFT JOIN FETCH sub.teacher " +
+            "WHERE (:category IS NULL OR f.category = :category) " +
+            "AND (:className IS NULL OR s.className = :className) " +
+            "AND (:academicYear IS NULL OR f.academicYear = :academicYear) " +
+            "AND (:term IS NULL OR f.term = :term) " +
+            "AND (:status IS NULL OR f.status = :status)")
+    List<Fee> findByFilters(@Param("category") String category,
+                            @Param("className") String className,
+                            @Param("academicYear") String academicYear,
+                            @Param("term") String term,
+                            @Param("status") String status);
+
+    /**
+     * Read-model rows for {@link #findByFilters} with ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.FeeRow(f.id, s.id, s.name, s.email, s.className, " +
+            "sub.id, sub.name, sub.code, f.invoiceNumber, f.totalAmount, f.discountType, f.discountValue, " +
+            "f.discountAmount, f.amountDue, f.amountPaid, f.balance, f.finalAmount, f.category, f.paymentDate, " +
+            "f.status, f.academicYear, f.term) " +
+            "FROM Fee f JOIN f.student s JOIN f.subject sub " +
+            "WHERE (:category IS NULL OR f.category = :category) " +
+            "AND (:className IS NULL OR s.className = :className) " +
+            "AND (:academicYear IS NULL OR f.academicYear = :academicYear) " +
+            "AND (:term IS NULL OR f.term = :term) " +
+            "AND (:status IS NULL OR f.status = :status) " +
+            "AND f.id > :lower AND f.id < :upper")
+    List<FeeRow> findRowsByFilters(@Param("category") String category,
+                                   @Param("className") String className,
+                                   @Param("academicYear") String academicYear,
+                                   @Param("term") String term,
+                                   @Param("status") String status,
+                                   @Param("lower") long lower,
+                                   @Param("upper") long upper,
+                                   Sort sort,
+                                   Limit limit);
+
+    /**
+     * Read-model rows for {@link #findByFilters} in id order, fetched from a forward-only cursor for exports.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.SchoolManagementSystem.School_Management_System.dto.FeeRow(f.id, s.id, s.name, s.email, s.className, " +
+            "sub.id, sub.name, sub.code, f.invoiceNumber, f.totalAmount, f.discountType, f.discountValue, " +
+            "f.discountAmount, f.amountDue, f.amountPaid, f.balance, f.finalAmount, f.category, f.paymentDate, " +
+            "f.status, f.academicYear, f.term) " +
+            "FROM Fee f JOIN f.student s JOIN f.subject sub " +
+            "WHERE (:category IS NULL OR f.category = :category) " +
+            "AND (:className IS NULL OR s.className = :className) " +
+            "AND (:academicYear IS NULL OR f.academicYear = :academicYear) " +
+            "AND (:term IS NULL OR f.term = :term) " +
+            "AND (:status IS NULL OR f.status = :status) " +
+            "ORDER BY f.id")
+    Stream<FeeRow> streamRowsByFilters(@Param("category") String category,
+                                       @Param("className") String className,
+                                       @Param("academicYear") String academicYear,
+                                       @Param("term") String term,
+                                       @Param("status") String status);
     
-    void deleteByStudentId(Long studentId);
+    /**
+     * Highest numeric suffix among invoice numbers starting with the given prefix, e.g. "INV-20240115-".
+     */
+    @Query("SELECT MAX(CAST(SUBSTRING(f.invoiceNumber, LENGTH(:prefix) + 1) AS long)) FROM Fee f " +
+            "WHERE f.invoiceNumber LIKE CONCAT(:prefix, '%')")
+    Long findMaxInvoiceSuffix(@Param("prefix") String prefix);
+
+    /**
+     * Bulk delete for the students' fees; their ledger rows go with them through the foreign key's
+     * ON DELETE CASCADE.
+     */
+    @Modifying
+    @Query("DELETE FROM Fee f WHERE f.student.id IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
 }
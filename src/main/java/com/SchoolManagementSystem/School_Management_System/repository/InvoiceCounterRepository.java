@@ -0,0 +1,32 @@
+package com.SchoolManagementSystem.School_Management_System.repository;
+
+import com.SchoolManagementSystem.School_Management_System.model.InvoiceCounter;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface InvoiceCounterRepository extends JpaRepository<InvoiceCounter, LocalDate> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM InvoiceCounter c WHERE c.invoiceDate = :invoiceDate")
+    Optional<InvoiceCounter> findForUpdate(@Param("invoiceDate") LocalDate invoiceDate);
+
+    /**
+     * Create a day's counter; fails with a constraint violation if another node created it first.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "invoice_counters"))
+    @Query(value = "INSERT INTO invoice_counters (invoice_date, next_value) VALUES (:invoiceDate, :nextValue)", nativeQuery = true)
+    void insert(@Param("invoiceDate") LocalDate invoiceDate, @Param("nextValue") long nextValue);
+}
@@ -1,11 +1,19 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
 import com.SchoolManagementSystem.School_Management_System.model.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -14,4 +22,61 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     boolean existsByEmail(String email);
     
     List<Student> findByClassName(String className);
+
+    long countByClassName(String className);
+
+    @EntityGraph(attributePaths = "subjects")
+    Optional<Student> findWithSubjectsById(Long id);
+
+    @EntityGraph(attributePaths = "subjects")
+    @Query("SELECT s FROM Student s")
+    List<Student> findAllWithSubjects();
+
+    @EntityGraph(attributePaths = "subjects")
+    @Query("SELECT s FROM Student s WHERE s.className = :className")
+    List<Student> findByClassNameWithSubjects(@Param("className") String className);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Keyset page: ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT s FROM Student s WHERE s.id > :lower AND s.id < :upper")
+    List<Student> findPage(@Param("lower") long lower, @Param("upper") long upper, Sort sort, Limit limit);
+
+    /*
+     * Collection loaders for student lists. Each one initializes a single collection on students
+     * already in the persistence context with one IN query, so serializing a list does not lazy
+     * load per student. One collection per query avoids fetching several bags at once.
+     */
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.subjects WHERE s IN :students")
+    List<Student> fetchSubjects(@Param("students") Collection<Student> students);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.exams e LEFT JOIN FETCH e.subject sub " +
+            "LEFT JOIN FETCH sub.teacher WHERE s IN :students")
+    List<Student> fetchExams(@Param("students") Collection<Student> students);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.attendances a LEFT JOIN FETCH a.subject sub " +
+            "LEFT JOIN FETCH sub.teacher WHERE s IN :students")
+    List<Student> fetchAttendances(@Param("students") Collection<Student> students);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.fees f LEFT JOIN FETCH f.subject sub " +
+            "LEFT JOIN FETCH sub.teacher WHERE s IN :students")
+    List<Student> fetchFees(@Param("students") Collection<Student> students);
+
+    @Query("SELECT s.id FROM Student s WHERE s.className = :className ORDER BY s.id")
+    List<Long> findIdsByClassName(@Param("className") String className, Limit limit);
+
+    /**
+     * Bulk delete; Hibernate also clears the students' rows in the student_subjects join table.
+     * Exams, attendance and fees must be deleted first.
+     */
+    @Modifying
+    @Query("DELETE FROM Student s WHERE s.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
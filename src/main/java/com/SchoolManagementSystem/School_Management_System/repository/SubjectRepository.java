@@ -1,12 +1,20 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
@@ -14,9 +22,35 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     boolean existsByCode(String code);
 
+    /**
+     * Served from the query cache until a subject or teacher changes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "subject-queries")
+    })
     @Query("SELECT DISTINCT s FROM Subject s LEFT JOIN FETCH s.teacher")
     List<Subject> findAllWithTeacher();
 
+    /**
+     * Served from the query cache until a subject or teacher changes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "subject-queries")
+    })
     @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.teacher WHERE s.id = :id")
     Optional<Subject> findByIdWithTeacher(Long id);
+
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.teacher WHERE s.id IN :ids")
+    List<Subject> findAllByIdWithTeacher(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Subject s WHERE s.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page: ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT s FROM Subject s LEFT JOIN FETCH s.teacher WHERE s.id > :lower AND s.id < :upper")
+    List<Subject> findPage(@Param("lower") long lower, @Param("upper") long upper, Sort sort, Limit limit);
 }
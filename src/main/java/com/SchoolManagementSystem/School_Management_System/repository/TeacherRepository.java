@@ -1,9 +1,14 @@
 package com.SchoolManagementSystem.School_Management_System.repository;
 
 import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,10 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Keyset page: ids strictly between the bounds, ordered and limited by the caller.
+     */
+    @Query("SELECT t FROM Teacher t WHERE t.id > :lower AND t.id < :upper")
+    List<Teacher> findPage(@Param("lower") long lower, @Param("upper") long upper, Sort sort, Limit limit);
 }
@@ -1,6 +1,5 @@
 package com.SchoolManagementSystem.School_Management_System.security;
 
-import com.SchoolManagementSystem.School_Management_System.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +19,7 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,14 +32,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.info("CORS preflight request for: " + request.getRequestURI());
         }
 
-        String username = null;
-        String jwt = null;
+        VerifiedTokenCache.VerifiedToken token = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.info("JWT token validated for user: " + username);
+                // One signature/expiry check per distinct token; repeats are served from the cache
+                token = verifiedTokenCache.verify(jwt);
+                logger.debug("JWT token validated for user: " + token.username());
             } catch (Exception e) {
                 logger.error("JWT token is invalid or expired: " + e.getMessage());
             }
@@ -48,15 +47,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.info("No Authorization header found for request: " + request.getRequestURI());
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, username)) {
-                String role = jwtUtil.extractClaim(jwt, claims -> claims.get("role", String.class));
-                
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (token != null && token.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    token.username(), null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + token.role())));
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,82 @@
+package com.SchoolManagementSystem.School_Management_System.security;
+
+import com.SchoolManagementSystem.School_Management_System.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers tokens that already passed signature verification, so repeat requests with the
+ * same token skip the HMAC check and JSON parse. Entries are keyed by a SHA-256 hash of the
+ * token (the raw token is never kept) and expire at the token's own expiration. When the
+ * cache is full, Caffeine evicts the entries least likely to be used again instead of
+ * dropping them all. A max size of 0 turns caching off.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(String username, String role, long expiresAtMillis) {
+    }
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) ->
+                        Duration.ofMillis(token.expiresAtMillis() - System.currentTimeMillis())))
+                .build();
+    }
+
+    /**
+     * Returns the verified subject and role of a token, parsing it only on a cache miss.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtUtil.parseClaims(token);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : System.currentTimeMillis());
+        if (maxSize > 0) {
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Number of cached tokens once pending expirations and evictions have run.
+     */
+    long size() {
+        tokens.cleanUp();
+        return tokens.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
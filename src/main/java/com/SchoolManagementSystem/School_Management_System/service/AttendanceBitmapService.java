@@ -0,0 +1,212 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceBitmapMigration;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceMark;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+import com.SchoolManagementSystem.School_Management_System.model.AttendanceBitmap;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.AttendanceBitmapRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.AttendanceRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.util.DayBitmap;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Optional compact attendance store: one pair of day bitmaps per student, subject and school year
+ * (see {@link AttendanceBitmap}). With {@code attendance.bitmap.enabled} the attendance write paths
+ * keep the bitmaps in step with the attendance table, and {@link #migrate()} builds them from the
+ * records already there. Rates are computed in memory with a popcount over the loaded bitmaps.
+ */
+@Service
+public class AttendanceBitmapService {
+
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    // Bitmaps persisted between flushes during a migration (a multiple of hibernate.jdbc.batch_size)
+    private static final int MIGRATION_FLUSH_SIZE = 500;
+
+    private final AttendanceBitmapRepository bitmapRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final StudentRepository studentRepository;
+    private final boolean enabled;
+    private final int schoolYearStartMonth;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AttendanceBitmapService(AttendanceBitmapRepository bitmapRepository,
+                                   AttendanceRepository attendanceRepository,
+                                   StudentRepository studentRepository,
+                                   @Value("${attendance.bitmap.enabled:false}") boolean enabled,
+                                   @Value("${dashboard.school-year-start-month:9}") int schoolYearStartMonth) {
+        this.bitmapRepository = bitmapRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.studentRepository = studentRepository;
+        this.enabled = enabled;
+        this.schoolYearStartMonth = schoolYearStartMonth;
+    }
+
+    /**
+     * Whether attendance writes are mirrored into the bitmaps.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * First day of the school year a date belongs to, e.g. 2024-09-01 for 2025-03-10 when the year starts in September.
+     */
+    public LocalDate yearStart(LocalDate date) {
+        int startYear = date.getMonthValue() >= schoolYearStartMonth ? date.getYear() : date.getYear() - 1;
+        return LocalDate.of(startYear, schoolYearStartMonth, 1);
+    }
+
+    /**
+     * Sets one day in a student's bitmaps; a null status clears the day.
+     */
+    @Transactional
+    public void mark(Long studentId, Long subjectId, LocalDate date, AttendanceStatus status) {
+        markAll(subjectId, date, Collections.singletonMap(studentId, status));
+    }
+
+    /**
+     * Sets one day of a roll call in the bitmaps of every listed student, creating the missing ones;
+     * a null status clears the day. Per chunk of students this runs an insert of the missing bitmaps,
+     * a locking select and one batched update.
+     */
+    @Transactional
+    public void markAll(Long subjectId, LocalDate date, Map<Long, AttendanceStatus> statuses) {
+        LocalDate yearStart = yearStart(date);
+        int day = (int) ChronoUnit.DAYS.between(yearStart, date);
+        List<Long> ids = new ArrayList<>(statuses.keySet());
+        for (int start = 0; start < ids.size(); start += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(start + ID_LOOKUP_CHUNK_SIZE, ids.size()));
+            List<Long> marked = chunk.stream().filter(id -> statuses.get(id) != null).toList();
+            if (!marked.isEmpty()) {
+                bitmapRepository.insertMissing(subjectId, yearStart, marked, new byte[0]);
+            }
+            for (AttendanceBitmap bitmap : bitmapRepository.findForUpdate(subjectId, yearStart, chunk)) {
+                AttendanceStatus status = statuses.get(bitmap.getId().getStudentId());
+                bitmap.setRecorded(DayBitmap.with(bitmap.getRecorded(), day, status != null));
+                bitmap.setPresent(DayBitmap.with(bitmap.getPresent(), day, status == AttendanceStatus.PRESENT));
+            }
+        }
+    }
+
+    /**
+     * A student's attendance rate between the dates (inclusive), over all subjects or one.
+     * @param from First day, or null for the start of the school year of {@code to}
+     * @param to Last day, or null for today
+     */
+    @Transactional(readOnly = true)
+    public AttendanceRate getStudentRate(Long studentId, Long subjectId, LocalDate from, LocalDate to) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new NotFoundException("Student", studentId));
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = firstDay(from, last);
+        List<AttendanceBitmap> bitmaps = bitmapRepository.findByStudent(studentId, subjectId, yearStart(first), yearStart(last));
+        long[] counts = count(bitmaps, first, last);
+        return new AttendanceRate(student.getId(), student.getName(), counts[0], counts[1] - counts[0]);
+    }
+
+    /**
+     * The attendance rate of a whole class between the dates (inclusive), over all subjects or one.
+     * Same defaults as {@link #getStudentRate}.
+     */
+    @Transactional(readOnly = true)
+    public AttendanceRate getClassRate(String className, Long subjectId, LocalDate from, LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = firstDay(from, last);
+        List<AttendanceBitmap> bitmaps = bitmapRepository.findByClass(className, subjectId, yearStart(first), yearStart(last));
+        long[] counts = count(bitmaps, first, last);
+        return new AttendanceRate(className, counts[0], counts[1] - counts[0]);
+    }
+
+    /**
+     * Rebuilds every bitmap from the attendance table in one transaction, replacing the existing ones;
+     * readers see the old bitmaps until it commits. Records are streamed in unique key order, so a
+     * bitmap is complete when the key changes and only one is held in memory at a time.
+     */
+    @Transactional
+    public AttendanceBitmapMigration migrate() {
+        bitmapRepository.deleteAllInBatch();
+        int bitmaps = 0;
+        long records = 0;
+        AttendanceBitmap current = null;
+        try (Stream<AttendanceMark> marks = attendanceRepository.streamMarks()) {
+            for (Iterator<AttendanceMark> iterator = marks.iterator(); iterator.hasNext(); records++) {
+                AttendanceMark mark = iterator.next();
+                AttendanceBitmap.Key key = new AttendanceBitmap.Key(mark.studentId(), mark.subjectId(), yearStart(mark.date()));
+                if (current == null || !current.getId().equals(key)) {
+                    if (current != null) {
+                        persist(current, ++bitmaps);
+                    }
+                    current = new AttendanceBitmap(key, entityManager.getReference(Student.class, mark.studentId()),
+                            entityManager.getReference(Subject.class, mark.subjectId()),
+                            new byte[AttendanceBitmap.BYTES], new byte[AttendanceBitmap.BYTES]);
+                }
+                int day = (int) ChronoUnit.DAYS.between(key.getYearStart(), mark.date());
+                current.setRecorded(DayBitmap.with(current.getRecorded(), day, true));
+                current.setPresent(DayBitmap.with(current.getPresent(), day, mark.status() == AttendanceStatus.PRESENT));
+            }
+        }
+        if (current != null) {
+            persist(current, ++bitmaps);
+        }
+        return new AttendanceBitmapMigration(bitmaps, records);
+    }
+
+    private void persist(AttendanceBitmap bitmap, int persisted) {
+        entityManager.persist(bitmap);
+        if (persisted % MIGRATION_FLUSH_SIZE == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private LocalDate firstDay(LocalDate from, LocalDate last) {
+        LocalDate first = from != null ? from : yearStart(last);
+        if (first.isAfter(last)) {
+            throw new ValidationException("from must not be after to");
+        }
+        return first;
+    }
+
+    /**
+     * Present and recorded days of the bitmaps that fall between the dates, as {present, recorded}.
+     */
+    private static long[] count(List<AttendanceBitmap> bitmaps, LocalDate first, LocalDate last) {
+        long present = 0;
+        long recorded = 0;
+        for (AttendanceBitmap bitmap : bitmaps) {
+            LocalDate yearStart = bitmap.getId().getYearStart();
+            LocalDate from = first.isAfter(yearStart) ? first : yearStart;
+            LocalDate yearEnd = yearStart.plusYears(1).minusDays(1);
+            LocalDate to = last.isBefore(yearEnd) ? last : yearEnd;
+            if (from.isAfter(to)) {
+                continue;
+            }
+            int fromDay = (int) ChronoUnit.DAYS.between(yearStart, from);
+            int toDay = (int) ChronoUnit.DAYS.between(yearStart, to);
+            present += DayBitmap.count(bitmap.getPresent(), fromDay, toDay);
+            recorded += DayBitmap.count(bitmap.getRecorded(), fromDay, toDay);
+        }
+        return new long[] {present, recorded};
+    }
+}
@@ -1,7 +1,15 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate;
 import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRow;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceWeek;
 import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
 import com.SchoolManagementSystem.School_Management_System.model.Attendance;
 import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
@@ -9,14 +17,32 @@ import com.SchoolManagementSystem.School_Management_System.model.Subject;
 import com.SchoolManagementSystem.School_Management_System.repository.AttendanceRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,21 +51,59 @@ public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final AttendanceBitmapService attendanceBitmapService;
 
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    // Same as hibernate.jdbc.batch_size
+    private static final int INSERT_BATCH_SIZE = 50;
+    // Skips rows whose student, subject and date are already recorded, including ones still being inserted by
+    // another transaction (PostgreSQL waits for it to finish). No conflict target, so H2 accepts it too.
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO attendance (id, student_id, subject_id, date, status) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+    // Open ends of an analytics date range, so the range predicate always has both bounds
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Attendance rows for the list endpoint, read as projections rather than entities.
+     * @param page Keyset page (fetched with {@link KeysetPageRequest#probeLimit()}), or null for all records
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceRow> getAttendanceRows(KeysetPageRequest page) {
+        KeysetPageRequest range = page != null ? page : KeysetPageRequest.UNPAGED;
+        return attendanceRepository.findRows(range.lowerBound(), range.upperBound(), range.sort(), range.probeLimit());
     }
 
+    /**
+     * Streams every attendance row into the sink from an open cursor; the transaction lasts until the last row is written.
+     */
+    @Transactional(readOnly = true)
+    public void exportAttendanceRows(StreamingExport.RowSink<AttendanceRow> sink) throws IOException {
+        StreamingExport.drain(attendanceRepository.streamRows(), sink);
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Attendance> getAttendanceById(Long id) {
-        return attendanceRepository.findById(id);
+        return attendanceRepository.findWithAssociationsById(id);
     }
 
+    @Transactional
     public Attendance createAttendance(AttendanceRequest attendanceRequest) {
         Student student = studentRepository.findById(attendanceRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + attendanceRequest.getStudentId()));
+                .orElseThrow(() -> new NotFoundException("Student", attendanceRequest.getStudentId()));
 
-        Subject subject = subjectRepository.findById(attendanceRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + attendanceRequest.getSubjectId()));
+        Subject subject = subjectRepository.findByIdWithTeacher(attendanceRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", attendanceRequest.getSubjectId()));
+
+        if (attendanceRepository.existsByStudentIdAndSubjectIdAndDate(student.getId(), subject.getId(), attendanceRequest.getDate())) {
+            throw new ConflictException(alreadyRecorded(student.getId(), attendanceRequest.getDate()));
+        }
 
         Attendance attendance = new Attendance();
         attendance.setStudent(student);
@@ -47,71 +111,389 @@ public class AttendanceService {
         attendance.setDate(attendanceRequest.getDate());
         attendance.setStatus(attendanceRequest.getStatus());
 
-        return attendanceRepository.save(attendance);
+        Attendance savedAttendance = saveRecord(attendance);
+        dashboardCounterService.attendanceAdded(savedAttendance);
+        if (attendanceBitmapService.isEnabled()) {
+            attendanceBitmapService.mark(student.getId(), subject.getId(), savedAttendance.getDate(), savedAttendance.getStatus());
+        }
+        return savedAttendance;
     }
 
+    /**
+     * Record a roll call. Student ids and already recorded rows are checked with set-based IN queries and the rows are
+     * inserted through Hibernate JDBC batching; invalid or already recorded rows are reported instead of failing the batch.
+     */
     @Transactional
-    public List<Attendance> createBulkAttendance(BulkAttendanceRequest bulkAttendanceRequest) {
+    public BulkAttendanceResponse createBulkAttendance(BulkAttendanceRequest bulkAttendanceRequest) {
         Subject subject = subjectRepository.findById(bulkAttendanceRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + bulkAttendanceRequest.getSubjectId()));
+                .orElseThrow(() -> new NotFoundException("Subject", bulkAttendanceRequest.getSubjectId()));
 
         LocalDate date = LocalDate.parse(bulkAttendanceRequest.getDate());
+        List<BulkAttendanceRequest.StudentAttendanceData> rows = bulkAttendanceRequest.getStudentAttendances() != null
+                ? bulkAttendanceRequest.getStudentAttendances()
+                : List.of();
+        Set<Long> existingStudentIds = findExistingStudentIds(rows.stream()
+                .map(BulkAttendanceRequest.StudentAttendanceData::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<Long, Attendance> recorded = findRecorded(existingStudentIds,
+                ids -> attendanceRepository.findRecorded(subject.getId(), date, ids));
+
+        BulkAttendanceResponse response = new BulkAttendanceResponse();
+        Set<Long> seenStudentIds = new HashSet<>();
         List<Attendance> attendances = new ArrayList<>();
+        List<BulkAttendanceResponse.RowResult> createdRows = new ArrayList<>();
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
 
-        for (var studentAttendanceData : bulkAttendanceRequest.getStudentAttendances()) {
-            Student student = studentRepository.findById(studentAttendanceData.getStudentId())
-                    .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentAttendanceData.getStudentId()));
+        for (int index = 0; index < rows.size(); index++) {
+            var studentAttendanceData = rows.get(index);
+            Long studentId = studentAttendanceData.getStudentId();
+            String error = validateRow(studentAttendanceData, existingStudentIds, seenStudentIds);
+            if (error == null && recorded.containsKey(studentId)) {
+                error = alreadyRecorded(studentId, date) + "; use PUT /api/attendance/bulk to overwrite it";
+            }
+            if (error != null) {
+                response.getResults().add(new BulkAttendanceResponse.RowResult(index, studentId, "FAILED", null, error));
+                continue;
+            }
 
             Attendance attendance = new Attendance();
-            attendance.setStudent(student);
+            attendance.setStudent(studentRepository.getReferenceById(studentId));
             attendance.setSubject(subject);
             attendance.setDate(date);
             attendance.setStatus(AttendanceStatus.valueOf(studentAttendanceData.getStatus()));
+            attendances.add(attendance);
+            counterDelta.attendance(attendance, 1);
+
+            BulkAttendanceResponse.RowResult result = new BulkAttendanceResponse.RowResult(index, studentId, "CREATED", null, null);
+            createdRows.add(result);
+            response.getResults().add(result);
+        }
+
+        attendanceRepository.saveAll(attendances);
+        for (int i = 0; i < attendances.size(); i++) {
+            createdRows.get(i).setAttendanceId(attendances.get(i).getId());
+        }
+        dashboardCounterService.apply(counterDelta);
+        markBitmaps(subject.getId(), date, attendances);
+
+        response.setCreated(createdRows.size());
+        response.setFailed(rows.size() - createdRows.size());
+        return response;
+    }
+
+    /**
+     * Record or correct a roll call idempotently: every valid row ends up as the single record for its student,
+     * subject and date, so submitting the same roll call again changes nothing. Recorded rows are locked before
+     * their status is compared, missing ones are inserted with a batched {@code INSERT ... ON CONFLICT DO NOTHING}
+     * and read back under lock, so each outcome and counter change reflects what was actually written, even when
+     * another roll call creates the same record concurrently.
+     */
+    @Transactional
+    public BulkAttendanceResponse upsertBulkAttendance(BulkAttendanceRequest bulkAttendanceRequest) {
+        Subject subject = subjectRepository.findById(bulkAttendanceRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", bulkAttendanceRequest.getSubjectId()));
+
+        LocalDate date = LocalDate.parse(bulkAttendanceRequest.getDate());
+        List<BulkAttendanceRequest.StudentAttendanceData> rows = bulkAttendanceRequest.getStudentAttendances() != null
+                ? bulkAttendanceRequest.getStudentAttendances()
+                : List.of();
+        Set<Long> existingStudentIds = findExistingStudentIds(rows.stream()
+                .map(BulkAttendanceRequest.StudentAttendanceData::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<Long, Attendance> recorded = findRecorded(existingStudentIds,
+                ids -> attendanceRepository.findRecordedForUpdate(subject.getId(), date, ids));
+
+        BulkAttendanceResponse response = new BulkAttendanceResponse();
+        Set<Long> seenStudentIds = new HashSet<>();
+        Map<Long, AttendanceStatus> submitted = new LinkedHashMap<>();
+        Map<Long, BulkAttendanceResponse.RowResult> results = new HashMap<>();
+        Map<Long, Attendance> inserts = new HashMap<>();
+
+        for (int index = 0; index < rows.size(); index++) {
+            var studentAttendanceData = rows.get(index);
+            Long studentId = studentAttendanceData.getStudentId();
+            String error = validateRow(studentAttendanceData, existingStudentIds, seenStudentIds);
+            if (error != null) {
+                response.getResults().add(new BulkAttendanceResponse.RowResult(index, studentId, "FAILED", null, error));
+                continue;
+            }
+
+            AttendanceStatus status = AttendanceStatus.valueOf(studentAttendanceData.getStatus());
+            BulkAttendanceResponse.RowResult result = new BulkAttendanceResponse.RowResult(index, studentId, null, null, null);
+            submitted.put(studentId, status);
+            results.put(studentId, result);
+            response.getResults().add(result);
+            if (!recorded.containsKey(studentId)) {
+                inserts.put(studentId, new Attendance(null, studentRepository.getReferenceById(studentId), subject, date, status));
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            insertIfAbsent(new ArrayList<>(inserts.values()));
+            // A row another roll call created in the meantime comes back with an id other than the one we generated
+            recorded.putAll(findRecorded(inserts.keySet(),
+                    ids -> attendanceRepository.findRecordedForUpdate(subject.getId(), date, ids)));
+        }
+
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
+        List<Attendance> written = new ArrayList<>();
+        for (Map.Entry<Long, AttendanceStatus> entry : submitted.entrySet()) {
+            Long studentId = entry.getKey();
+            AttendanceStatus status = entry.getValue();
+            BulkAttendanceResponse.RowResult result = results.get(studentId);
+            Attendance current = recorded.get(studentId);
+            Attendance inserted = inserts.get(studentId);
+            if (current == null) {
+                // Deleted by someone else between our insert and the read-back
+                result.setOutcome("FAILED");
+                result.setError("Attendance for student " + studentId + " on " + date + " was deleted concurrently; submit it again");
+                continue;
+            }
+
+            result.setAttendanceId(current.getId());
+            if (inserted != null && inserted.getId().equals(current.getId())) {
+                result.setOutcome("CREATED");
+                counterDelta.attendance(current, 1);
+                written.add(current);
+            } else if (current.getStatus() == status) {
+                result.setOutcome("UNCHANGED");
+            } else {
+                result.setOutcome("UPDATED");
+                counterDelta.attendance(current, -1);
+                current.setStatus(status);
+                counterDelta.attendance(current, 1);
+                written.add(current);
+            }
+        }
+        dashboardCounterService.apply(counterDelta);
+        markBitmaps(subject.getId(), date, written);
+
+        response.setCreated(countOutcomes(response, "CREATED"));
+        response.setUpdated(countOutcomes(response, "UPDATED"));
+        response.setFailed(countOutcomes(response, "FAILED"));
+        return response;
+    }
+
+    private static int countOutcomes(BulkAttendanceResponse response, String outcome) {
+        return (int) response.getResults().stream().filter(row -> outcome.equals(row.getOutcome())).count();
+    }
+
+    /**
+     * Runs {@link #INSERT_IF_ABSENT_SQL} in JDBC batches on the transaction's connection. Ids are assigned up front
+     * from the attendance sequence through Hibernate's pooled generator, so they never collide with ids Hibernate
+     * hands out itself, and a row that is read back with a different id was not inserted here.
+     */
+    private void insertIfAbsent(List<Attendance> attendances) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Attendance.class).getGenerator();
+        for (Attendance attendance : attendances) {
+            attendance.setId((Long) generator.generate(session, attendance, null, EventType.INSERT));
+        }
+
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT_SQL)) {
+                for (int i = 0; i < attendances.size(); i++) {
+                    Attendance attendance = attendances.get(i);
+                    statement.setLong(1, attendance.getId());
+                    statement.setLong(2, attendance.getStudent().getId());
+                    statement.setLong(3, attendance.getSubject().getId());
+                    statement.setObject(4, attendance.getDate());
+                    statement.setString(5, attendance.getStatus().name());
+                    statement.addBatch();
+                    if ((i + 1) % INSERT_BATCH_SIZE == 0 || i == attendances.size() - 1) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Mirrors a roll call into the attendance bitmaps when they are enabled.
+     */
+    private void markBitmaps(Long subjectId, LocalDate date, List<Attendance> attendances) {
+        if (!attendanceBitmapService.isEnabled() || attendances.isEmpty()) {
+            return;
+        }
+        Map<Long, AttendanceStatus> statuses = new HashMap<>();
+        for (Attendance attendance : attendances) {
+            statuses.put(attendance.getStudent().getId(), attendance.getStatus());
+        }
+        attendanceBitmapService.markAll(subjectId, date, statuses);
+    }
 
-            attendances.add(attendanceRepository.save(attendance));
+    /**
+     * Already recorded attendance by student id, looked up in IN-list chunks.
+     */
+    private Map<Long, Attendance> findRecorded(Set<Long> studentIds, Function<List<Long>, List<Attendance>> lookup) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        List<Attendance> recorded = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += ID_LOOKUP_CHUNK_SIZE) {
+            recorded.addAll(lookup.apply(ids.subList(start, Math.min(start + ID_LOOKUP_CHUNK_SIZE, ids.size()))));
         }
+        return recorded.stream().collect(Collectors.toMap(attendance -> attendance.getStudent().getId(), Function.identity()));
+    }
 
-        return attendances;
+    private static String alreadyRecorded(Long studentId, LocalDate date) {
+        return "Attendance already recorded for student " + studentId + " on " + date;
     }
 
+    private String validateRow(BulkAttendanceRequest.StudentAttendanceData row, Set<Long> existingStudentIds,
+                               Set<Long> seenStudentIds) {
+        if (row.getStudentId() == null) {
+            return "Student ID is required";
+        }
+        if (!existingStudentIds.contains(row.getStudentId())) {
+            return "Student not found with id: " + row.getStudentId();
+        }
+        if (row.getStatus() == null) {
+            return "Status is required";
+        }
+        try {
+            AttendanceStatus.valueOf(row.getStatus());
+        } catch (IllegalArgumentException e) {
+            return "Invalid status: " + row.getStatus();
+        }
+        if (!seenStudentIds.add(row.getStudentId())) {
+            return "Duplicate student in roll call: " + row.getStudentId();
+        }
+        return null;
+    }
+
+    /**
+     * Existence check in IN-list chunks, keeping each statement well under the bind parameter limit.
+     */
+    private Set<Long> findExistingStudentIds(Set<Long> studentIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int start = 0; start < ids.size(); start += ID_LOOKUP_CHUNK_SIZE) {
+            existing.addAll(studentRepository.findExistingIds(
+                    ids.subList(start, Math.min(start + ID_LOOKUP_CHUNK_SIZE, ids.size()))));
+        }
+        return existing;
+    }
+
+    @Transactional
     public Attendance updateAttendance(Long id, AttendanceRequest attendanceRequest) {
         Attendance existingAttendance = attendanceRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Attendance not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Attendance", id));
 
         Student student = studentRepository.findById(attendanceRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + attendanceRequest.getStudentId()));
+                .orElseThrow(() -> new NotFoundException("Student", attendanceRequest.getStudentId()));
 
-        Subject subject = subjectRepository.findById(attendanceRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + attendanceRequest.getSubjectId()));
+        Subject subject = subjectRepository.findByIdWithTeacher(attendanceRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", attendanceRequest.getSubjectId()));
 
+        if (attendanceRepository.existsByStudentIdAndSubjectIdAndDateAndIdNot(
+                student.getId(), subject.getId(), attendanceRequest.getDate(), id)) {
+            throw new ConflictException(alreadyRecorded(student.getId(), attendanceRequest.getDate()));
+        }
+
+        dashboardCounterService.attendanceRemoved(existingAttendance);
+        if (attendanceBitmapService.isEnabled()) {
+            attendanceBitmapService.mark(existingAttendance.getStudent().getId(), existingAttendance.getSubject().getId(),
+                    existingAttendance.getDate(), null);
+        }
         existingAttendance.setStudent(student);
         existingAttendance.setSubject(subject);
         existingAttendance.setDate(attendanceRequest.getDate());
         existingAttendance.setStatus(attendanceRequest.getStatus());
+        dashboardCounterService.attendanceAdded(existingAttendance);
+        if (attendanceBitmapService.isEnabled()) {
+            attendanceBitmapService.mark(student.getId(), subject.getId(), existingAttendance.getDate(), existingAttendance.getStatus());
+        }
 
-        return attendanceRepository.save(existingAttendance);
+        return saveRecord(existingAttendance);
     }
 
+    /**
+     * Saves and flushes a single record. The existence checks above cannot see a request for the same
+     * student, subject and date that commits in between; the unique key catches it, reported as 409.
+     */
+    private Attendance saveRecord(Attendance attendance) {
+        try {
+            return attendanceRepository.saveAndFlush(attendance);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(Attendance.UNIQUE_KEY)) {
+                throw new ConflictException(alreadyRecorded(attendance.getStudent().getId(), attendance.getDate()));
+            }
+            throw e;
+        }
+    }
+
+    @Transactional
     public void deleteAttendance(Long id) {
-        if (!attendanceRepository.existsById(id)) {
-            throw new RuntimeException("Attendance not found with id: " + id);
+        Attendance attendance = attendanceRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Attendance", id));
+        dashboardCounterService.attendanceRemoved(attendance);
+        if (attendanceBitmapService.isEnabled()) {
+            attendanceBitmapService.mark(attendance.getStudent().getId(), attendance.getSubject().getId(), attendance.getDate(), null);
         }
-        attendanceRepository.deleteById(id);
+        attendanceRepository.delete(attendance);
     }
 
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByStudent(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
-        return attendanceRepository.findByStudent(student);
+        if (!studentRepository.existsById(studentId)) {
+            throw new NotFoundException("Student", studentId);
+        }
+        return attendanceRepository.findWithAssociationsByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceBySubject(Long subjectId) {
-        Subject subject = subjectRepository.findById(subjectId)
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + subjectId));
-        return attendanceRepository.findBySubject(subject);
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new NotFoundException("Subject", subjectId);
+        }
+        return attendanceRepository.findWithAssociationsBySubjectId(subjectId);
     }
 
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByDate(LocalDate date) {
-        return attendanceRepository.findByDate(date);
+        return attendanceRepository.findWithAssociationsByDate(date);
+    }
+
+    /**
+     * Attendance rate of every student with records in the date range, optionally limited to one class.
+     * @param from First day (inclusive), or null for no lower bound
+     * @param to Last day (inclusive), or null for no upper bound
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceRate> getStudentAttendanceRates(LocalDate from, LocalDate to, String className) {
+        String normalizedClass = className == null || className.isBlank() ? null : className.trim();
+        return attendanceRepository.countByStudent(lowerBound(from, to), upperBound(to), normalizedClass);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceRate> getSubjectAttendanceRates(LocalDate from, LocalDate to) {
+        return attendanceRepository.countBySubject(lowerBound(from, to), upperBound(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceRate> getClassAttendanceRates(LocalDate from, LocalDate to) {
+        return attendanceRepository.countByClass(lowerBound(from, to), upperBound(to));
+    }
+
+    /**
+     * Attendance rate per week (Monday to Sunday) in the date range, optionally for one subject.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceWeek> getWeeklyAttendanceRates(LocalDate from, LocalDate to, Long subjectId) {
+        return attendanceRepository.countByWeek(lowerBound(from, to), upperBound(to), subjectId);
+    }
+
+    private static LocalDate lowerBound(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("from must not be after to");
+        }
+        return from != null ? from : EARLIEST_DATE;
+    }
+
+    private static LocalDate upperBound(LocalDate to) {
+        return to != null ? to : LATEST_DATE;
     }
 }
@@ -2,6 +2,7 @@ package com.SchoolManagementSystem.School_Management_System.service;
 
 import com.SchoolManagementSystem.School_Management_System.dto.AuthRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.AuthResponse;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
 import com.SchoolManagementSystem.School_Management_System.model.Role;
 import com.SchoolManagementSystem.School_Management_System.model.User;
 import com.SchoolManagementSystem.School_Management_System.repository.UserRepository;
@@ -35,7 +36,7 @@ public class AuthService {
 
     public AuthResponse signup(AuthRequest authRequest, Role role) {
         if (userRepository.existsByEmail(authRequest.getEmail())) {
-            throw new RuntimeException("Email already exists");
+            throw new ConflictException("Email already exists");
         }
 
         User user = new User();
@@ -0,0 +1,49 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.CacheRegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hit/miss counters of the Hibernate second-level cache regions (entities and cached queries).
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatistics> getRegionStatistics() {
+        Statistics statistics = statistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    var counters = statistics.getCacheRegionStatistics(region);
+                    if (counters == null) {
+                        return null;
+                    }
+                    long hits = counters.getHitCount();
+                    long misses = counters.getMissCount();
+                    return new CacheRegionStatistics(region, hits, misses, counters.getPutCount(),
+                            counters.getElementCountInMemory(),
+                            hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void reset() {
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
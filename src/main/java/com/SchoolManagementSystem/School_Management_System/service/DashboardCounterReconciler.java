@@ -0,0 +1,37 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recounts the dashboard counters on startup (seeding them on first run) and on a schedule,
+ * so any drift from missed updates or direct SQL changes is detected and repaired.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterReconciler {
+
+    private final DashboardCounterService counterService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${dashboard.counters.reconcile-cron:0 0 * * * *}")
+    public void reconcile() {
+        List<String> drifted = counterService.reconcile();
+        if (drifted.isEmpty()) {
+            log.debug("Dashboard counters reconciled, no drift");
+        } else {
+            log.warn("Dashboard counters repaired for scopes {}", drifted);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.DashboardCounter;
+import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.repository.DashboardCounterRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maintains the materialized dashboard counters. Write services record their changes
+ * here inside their own transaction; the reconciler periodically recounts from the
+ * source tables and repairs any drift.
+ */
+@Slf4j
+@Service
+public class DashboardCounterService {
+
+    private static final String EXAM_COUNTS_QUERY = """
+            SELECT EXTRACT(YEAR FROM exam_date), EXTRACT(MONTH FROM exam_date),
+                   COUNT(*) FILTER (WHERE obtained_marks * 100.0 / NULLIF(total_marks, 0) >= 50),
+                   COUNT(*)
+            FROM exams %s
+            GROUP BY EXTRACT(YEAR FROM exam_date), EXTRACT(MONTH FROM exam_date)
+            """;
+
+    private static final String ATTENDANCE_COUNTS_QUERY = """
+            SELECT EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date),
+                   COUNT(*) FILTER (WHERE status = 'PRESENT'),
+                   COUNT(*)
+            FROM attendance %s
+            GROUP BY EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)
+            """;
+
+    private static final String FEE_TOTALS_QUERY = """
+            SELECT academic_year, EXTRACT(YEAR FROM payment_date), EXTRACT(MONTH FROM payment_date),
+                   COALESCE(SUM(final_amount), 0)
+            FROM fees %s
+            GROUP BY academic_year, EXTRACT(YEAR FROM payment_date), EXTRACT(MONTH FROM payment_date)
+            """;
+
+    private static final String ENTITY_COUNTS_QUERY = """
+            SELECT (SELECT COUNT(*) FROM students),
+                   (SELECT COUNT(*) FROM teachers),
+                   (SELECT COUNT(*) FROM subjects)
+            """;
+
+    private static final double FEE_TOLERANCE = 0.005;
+
+    private final DashboardCounterRepository counterRepository;
+    private final ExamPerformanceCache examPerformanceCache;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate repairTransaction;
+    private final int schoolYearStartMonth;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DashboardCounterService(DashboardCounterRepository counterRepository,
+                                   ExamPerformanceCache examPerformanceCache,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${dashboard.school-year-start-month:9}") int schoolYearStartMonth) {
+        this.counterRepository = counterRepository;
+        this.examPerformanceCache = examPerformanceCache;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.repairTransaction = new TransactionTemplate(transactionManager);
+        this.schoolYearStartMonth = schoolYearStartMonth;
+    }
+
+    /**
+     * School year a date belongs to, e.g. "2024-2025" for 2024-10-01 when the year starts in September.
+     */
+    public String schoolYearOf(LocalDate date) {
+        return date != null ? schoolYearOf(date.getYear(), date.getMonthValue()) : null;
+    }
+
+    private String schoolYearOf(int year, int month) {
+        int startYear = month >= schoolYearStartMonth ? year : year - 1;
+        return startYear + "-" + (startYear + 1);
+    }
+
+    /**
+     * Scope a fee is counted under: its academic year if set, otherwise the school year of its payment date.
+     */
+    public String schoolYearOf(Fee fee) {
+        if (fee.getAcademicYear() != null && !fee.getAcademicYear().isBlank()) {
+            return fee.getAcademicYear();
+        }
+        return schoolYearOf(fee.getPaymentDate());
+    }
+
+    public static boolean isPassed(Exam exam) {
+        return exam.getObtainedMarks() != null && exam.getTotalMarks() != null && exam.getTotalMarks() != 0
+                && exam.getObtainedMarks() * 100.0 / exam.getTotalMarks() >= 50;
+    }
+
+    public Delta newDelta() {
+        return new Delta();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentCreated() {
+        apply(newDelta().students(1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teacherCreated() {
+        apply(newDelta().teachers(1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subjectCreated() {
+        apply(newDelta().subjects(1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void examAdded(Exam exam) {
+        apply(newDelta().exam(exam, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void examRemoved(Exam exam) {
+        apply(newDelta().exam(exam, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void attendanceAdded(Attendance attendance) {
+        apply(newDelta().attendance(attendance, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void attendanceRemoved(Attendance attendance) {
+        apply(newDelta().attendance(attendance, -1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeAdded(Fee fee) {
+        apply(newDelta().fee(fee, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void feeRemoved(Fee fee) {
+        apply(newDelta().fee(fee, -1));
+    }
+
+    /**
+     * Must run before the student rows are deleted: subtracts the students and everything
+     * that is deleted with them (exams, attendance, fees), three grouped queries for the whole set.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentsDeleted(Collection<Long> studentIds) {
+        Delta delta = newDelta().students(-studentIds.size());
+        subtractChildren(delta, "student_id IN (:id)", studentIds);
+        apply(delta);
+    }
+
+    /**
+     * Must run before the subject row is deleted: subtracts the subject and its cascaded rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subjectDeleted(Long subjectId) {
+        Delta delta = newDelta().subjects(-1);
+        subtractChildren(delta, "subject_id = :id", subjectId);
+        apply(delta);
+    }
+
+    /**
+     * Must run before the teacher row is deleted: deleting a teacher cascades to their subjects.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void teacherDeleted(List<Long> subjectIds) {
+        Delta delta = newDelta().teachers(-1).subjects(-subjectIds.size());
+        if (!subjectIds.isEmpty()) {
+            subtractChildren(delta, "subject_id IN (:id)", subjectIds);
+        }
+        apply(delta);
+    }
+
+    private void subtractChildren(Delta delta, String condition, Object id) {
+        Map<String, Counts> counts = new HashMap<>();
+        String where = "WHERE " + condition;
+        collectExamCounts(counts, where, id);
+        collectAttendanceCounts(counts, where, id);
+        collectFeeTotals(counts, where, id);
+        counts.forEach((scope, c) -> delta.add(scope, c.negate()));
+        delta.evictAllCharts = true;
+    }
+
+    /**
+     * Apply accumulated deltas to one randomly picked slot of each scope, so writers only
+     * contend when they pick the same slot. Within a slot the "ALL" row is always updated
+     * first and the school years follow in order, so writers take row locks in the same order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Delta delta) {
+        if (delta.evictAllCharts) {
+            examPerformanceCache.evictAll();
+        } else {
+            delta.examDates.forEach(examPerformanceCache::evictMonth);
+        }
+        if (delta.isEmpty()) {
+            return;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(DashboardCounter.SLOTS);
+        increment(DashboardCounter.ALL_SCOPE, slot, delta.total);
+        delta.byScope.forEach((scope, c) -> increment(scope, slot, c));
+    }
+
+    private void increment(String scope, int slot, Counts c) {
+        if (c.isZero()) {
+            return;
+        }
+        if (addTo(scope, slot, c) == 0) {
+            // First change in this scope: create its slot rows, then add. Plain UPDATE and
+            // INSERT ... ON CONFLICT DO NOTHING run on both PostgreSQL and H2.
+            counterRepository.insertIfAbsent(scope);
+            addTo(scope, slot, c);
+        }
+    }
+
+    private int addTo(String scope, int slot, Counts c) {
+        return counterRepository.increment(scope, slot, c.students, c.teachers, c.subjects,
+                c.passed, c.failed, c.present, c.absent, c.fees);
+    }
+
+    /**
+     * A scope's figures: the sum of its slot rows, zero when it has none.
+     */
+    @Transactional(readOnly = true)
+    public DashboardCounter getCounter(String scope) {
+        DashboardCounter counter = new DashboardCounter(scope);
+        counterRepository.findByScope(scope).forEach(counter::add);
+        return counter;
+    }
+
+    /**
+     * Recount every scope from the source tables, log and repair any drift.
+     * The recount takes no locks: it reads the counters and the source tables from one
+     * repeatable-read snapshot, and the difference is then added like any other write, so
+     * changes committed in the meantime are kept and writers are only held up by the short
+     * repair transaction.
+     * @return scopes whose stored counters differed from the recount
+     */
+    public List<String> reconcile() {
+        Map<String, Counts> drift = new TreeMap<>();
+        Set<String> emptyScopes = new HashSet<>();
+        snapshotTransaction.executeWithoutResult(status -> {
+            Map<String, Counts> expected = recount();
+            Map<String, Counts> stored = storedCounts();
+            Set<String> scopes = new TreeSet<>(expected.keySet());
+            scopes.addAll(stored.keySet());
+            for (String scope : scopes) {
+                Counts recounted = expected.getOrDefault(scope, new Counts());
+                Counts current = stored.getOrDefault(scope, new Counts());
+                if (!recounted.matches(current)) {
+                    log.warn("Dashboard counters drifted for scope {}: stored={}, recounted={}", scope, current, recounted);
+                    Counts difference = current.negate();
+                    difference.add(recounted);
+                    drift.put(scope, difference);
+                }
+                if (!expected.containsKey(scope)) {
+                    // No rows behind it any more; dropped once it adds up to zero
+                    emptyScopes.add(scope);
+                }
+            }
+        });
+
+        repairTransaction.executeWithoutResult(status -> {
+            // Seeds the school-wide slots on first run, so no writer has to create them
+            counterRepository.insertIfAbsent(DashboardCounter.ALL_SCOPE);
+            // Same lock order as apply(): "ALL" first, then the school years in order
+            if (drift.containsKey(DashboardCounter.ALL_SCOPE)) {
+                increment(DashboardCounter.ALL_SCOPE, 0, drift.get(DashboardCounter.ALL_SCOPE));
+            }
+            drift.forEach((scope, c) -> {
+                if (!DashboardCounter.ALL_SCOPE.equals(scope)) {
+                    increment(scope, 0, c);
+                }
+            });
+            emptyScopes.forEach(this::deleteIfZero);
+        });
+        return new ArrayList<>(drift.keySet());
+    }
+
+    /**
+     * Drop a scope's slot rows if they add up to nothing. They are locked first, so an
+     * increment still in flight is either waited for or lands on a freshly inserted row.
+     */
+    private void deleteIfZero(String scope) {
+        List<DashboardCounter> slots = counterRepository.findByScopeForUpdate(scope);
+        Counts sum = new Counts();
+        slots.forEach(slot -> sum.add(Counts.of(slot)));
+        if (sum.matches(new Counts())) {
+            counterRepository.deleteAll(slots);
+        }
+    }
+
+    private Map<String, Counts> storedCounts() {
+        Map<String, Counts> stored = new HashMap<>();
+        for (DashboardCounter counter : counterRepository.findAll()) {
+            stored.computeIfAbsent(counter.getScope(), k -> new Counts()).add(Counts.of(counter));
+        }
+        return stored;
+    }
+
+    private Map<String, Counts> recount() {
+        Map<String, Counts> counts = new TreeMap<>();
+        collectExamCounts(counts, "", null);
+        collectAttendanceCounts(counts, "", null);
+        collectFeeTotals(counts, "", null);
+
+        Counts total = new Counts();
+        counts.values().forEach(total::add);
+        Object[] row = (Object[]) entityManager.createNativeQuery(ENTITY_COUNTS_QUERY).getSingleResult();
+        total.students = toLong(row[0]);
+        total.teachers = toLong(row[1]);
+        total.subjects = toLong(row[2]);
+        counts.put(DashboardCounter.ALL_SCOPE, total);
+        return counts;
+    }
+
+    private void collectExamCounts(Map<String, Counts> counts, String where, Object id) {
+        for (Object[] row : groupedRows(EXAM_COUNTS_QUERY, where, id)) {
+            Counts c = counts.computeIfAbsent(schoolYearOf(toInt(row[0]), toInt(row[1])), k -> new Counts());
+            long passed = toLong(row[2]);
+            c.passed += passed;
+            c.failed += toLong(row[3]) - passed;
+        }
+    }
+
+    private void collectAttendanceCounts(Map<String, Counts> counts, String where, Object id) {
+        for (Object[] row : groupedRows(ATTENDANCE_COUNTS_QUERY, where, id)) {
+            Counts c = counts.computeIfAbsent(schoolYearOf(toInt(row[0]), toInt(row[1])), k -> new Counts());
+            long present = toLong(row[2]);
+            c.present += present;
+            c.absent += toLong(row[3]) - present;
+        }
+    }
+
+    private void collectFeeTotals(Map<String, Counts> counts, String where, Object id) {
+        for (Object[] row : groupedRows(FEE_TOTALS_QUERY, where, id)) {
+            String academicYear = (String) row[0];
+            String scope = academicYear != null && !academicYear.isBlank()
+                    ? academicYear
+                    : schoolYearOf(toInt(row[1]), toInt(row[2]));
+            counts.computeIfAbsent(scope, k -> new Counts()).fees += toDouble(row[3]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> groupedRows(String query, String where, Object id) {
+        var nativeQuery = entityManager.createNativeQuery(query.formatted(where));
+        if (id != null) {
+            nativeQuery.setParameter("id", id);
+        }
+        return nativeQuery.getResultList();
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    /**
+     * Pending counter changes, grouped by school year. Bulk operations accumulate
+     * into one Delta so a whole batch costs one upsert per scope.
+     */
+    public class Delta {
+        private final Counts total = new Counts();
+        private final Map<String, Counts> byScope = new TreeMap<>();
+        private final Set<LocalDate> examDates = new HashSet<>();
+        private boolean evictAllCharts;
+
+        public Delta students(long n) {
+            total.students += n;
+            return this;
+        }
+
+        public Delta teachers(long n) {
+            total.teachers += n;
+            return this;
+        }
+
+        public Delta subjects(long n) {
+            total.subjects += n;
+            return this;
+        }
+
+        public Delta exam(Exam exam, int sign) {
+            Counts c = new Counts();
+            if (isPassed(exam)) {
+                c.passed = sign;
+            } else {
+                c.failed = sign;
+            }
+            if (exam.getExamDate() != null) {
+                examDates.add(exam.getExamDate().withDayOfMonth(1));
+            }
+            return add(schoolYearOf(exam.getExamDate()), c);
+        }
+
+        public Delta attendance(Attendance attendance, int sign) {
+            Counts c = new Counts();
+            if (attendance.getStatus() == Attendance.AttendanceStatus.PRESENT) {
+                c.present = sign;
+            } else {
+                c.absent = sign;
+            }
+            return add(schoolYearOf(attendance.getDate()), c);
+        }
+
+        public Delta fee(Fee fee, int sign) {
+            Counts c = new Counts();
+            c.fees = sign * (fee.getFinalAmount() != null ? fee.getFinalAmount() : 0.0);
+            return add(schoolYearOf(fee), c);
+        }
+
+        private Delta add(String scope, Counts c) {
+            total.add(c);
+            if (scope != null) {
+                byScope.computeIfAbsent(scope, k -> new Counts()).add(c);
+            }
+            return this;
+        }
+
+        boolean isEmpty() {
+            return total.isZero() && byScope.values().stream().allMatch(Counts::isZero);
+        }
+    }
+
+    static class Counts {
+        long students;
+        long teachers;
+        long subjects;
+        long passed;
+        long failed;
+        long present;
+        long absent;
+        double fees;
+
+        void add(Counts other) {
+            students += other.students;
+            teachers += other.teachers;
+            subjects += other.subjects;
+            passed += other.passed;
+            failed += other.failed;
+            present += other.present;
+            absent += other.absent;
+            fees += other.fees;
+        }
+
+        Counts negate() {
+            Counts c = new Counts();
+            c.students = -students;
+            c.teachers = -teachers;
+            c.subjects = -subjects;
+            c.passed = -passed;
+            c.failed = -failed;
+            c.present = -present;
+            c.absent = -absent;
+            c.fees = -fees;
+            return c;
+        }
+
+        boolean isZero() {
+            return students == 0 && teachers == 0 && subjects == 0 && passed == 0 && failed == 0
+                    && present == 0 && absent == 0 && fees == 0.0;
+        }
+
+        boolean matches(Counts other) {
+            return other.students == students
+                    && other.teachers == teachers
+                    && other.subjects == subjects
+                    && other.passed == passed
+                    && other.failed == failed
+                    && other.present == present
+                    && other.absent == absent
+                    && Math.abs(other.fees - fees) < FEE_TOLERANCE;
+        }
+
+        static Counts of(DashboardCounter counter) {
+            Counts c = new Counts();
+            c.students = counter.getTotalStudents();
+            c.teachers = counter.getTotalTeachers();
+            c.subjects = counter.getTotalSubjects();
+            c.passed = counter.getPassedExams();
+            c.failed = counter.getFailedExams();
+            c.present = counter.getPresentCount();
+            c.absent = counter.getAbsentCount();
+            c.fees = counter.getFeesCollected();
+            return c;
+        }
+
+        @Override
+        public String toString() {
+            return "Counts(students=" + students + ", teachers=" + teachers + ", subjects=" + subjects
+                    + ", passed=" + passed + ", failed=" + failed + ", present=" + present
+                    + ", absent=" + absent + ", fees=" + fees + ")";
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.ExamPerformancePoint;
+import com.SchoolManagementSystem.School_Management_System.model.DashboardCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    /**
+     * Monthly pass/fail buckets computed in the database. Exams without marks keep their
+     * month on the chart but count as neither passed nor failed.
+     */
+    private static final String EXAM_PERFORMANCE_QUERY = """
+            SELECT to_char(date_trunc('month', e.exam_date), 'YYYY-MM'),
+                   COUNT(*) FILTER (WHERE e.obtained_marks * 100.0 / NULLIF(e.total_marks, 0) >= 50),
+                   COUNT(*) FILTER (WHERE e.obtained_marks IS NOT NULL AND e.total_marks IS NOT NULL)
+            FROM exams e %s
+            GROUP BY date_trunc('month', e.exam_date)
+            ORDER BY date_trunc('month', e.exam_date)
+            """;
+
+    private final DashboardCounterService counterService;
+    private final ExamPerformanceCache examPerformanceCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read the materialized counters: the slot rows of one or two scopes regardless of table size.
+     * Students, teachers and subjects are school-wide; the other figures follow the requested school year.
+     * @param schoolYear e.g. "2024-2025", or null for all years
+     */
+    @Transactional(readOnly = true)
+    public DashboardStatistics getStatistics(String schoolYear) {
+        DashboardCounter all = counterService.getCounter(DashboardCounter.ALL_SCOPE);
+        DashboardCounter scoped = schoolYear == null || schoolYear.isBlank()
+                ? all
+                : counterService.getCounter(schoolYear.trim());
+
+        DashboardStatistics stats = new DashboardStatistics();
+        stats.setTotalStudents(all.getTotalStudents());
+        stats.setTotalTeachers(all.getTotalTeachers());
+        stats.setTotalSubjects(all.getTotalSubjects());
+        stats.setTotalFeesCollected(scoped.getFeesCollected());
+
+        stats.setPassedExams(scoped.getPassedExams());
+        stats.setFailedExams(scoped.getFailedExams());
+        stats.setTotalExams(scoped.getPassedExams() + scoped.getFailedExams());
+
+        long presentCount = scoped.getPresentCount();
+        long totalAttendance = presentCount + scoped.getAbsentCount();
+        stats.setPresentCount(presentCount);
+        stats.setAbsentCount(scoped.getAbsentCount());
+        stats.setTotalAttendance(totalAttendance);
+        stats.setAttendanceRate(totalAttendance > 0 ? (double) presentCount / totalAttendance * 100 : 0);
+
+        return stats;
+    }
+
+    /**
+     * Exam pass/fail counts per month, optionally limited to a date range, subject or class.
+     * Only the supplied filters are added to the query so each one can use its index.
+     */
+    @Transactional(readOnly = true)
+    public List<ExamPerformancePoint> getExamPerformance(LocalDate from, LocalDate to, Long subjectId, String className) {
+        String normalizedClass = className == null || className.isBlank() ? null : className.trim();
+        ExamPerformanceCache.Key key = new ExamPerformanceCache.Key(from, to, subjectId, normalizedClass);
+        List<ExamPerformancePoint> cached = examPerformanceCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = examPerformanceCache.generation();
+
+        StringBuilder clauses = new StringBuilder();
+        List<String> conditions = new ArrayList<>();
+        if (normalizedClass != null) {
+            clauses.append("JOIN students s ON s.id = e.student_id ");
+            conditions.add("s.class = :className");
+        }
+        if (from != null) {
+            conditions.add("e.exam_date >= :fromDate");
+        }
+        if (to != null) {
+            conditions.add("e.exam_date <= :toDate");
+        }
+        if (subjectId != null) {
+            conditions.add("e.subject_id = :subjectId");
+        }
+        if (!conditions.isEmpty()) {
+            clauses.append("WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        Query query = entityManager.createNativeQuery(EXAM_PERFORMANCE_QUERY.formatted(clauses));
+        if (normalizedClass != null) {
+            query.setParameter("className", normalizedClass);
+        }
+        if (from != null) {
+            query.setParameter("fromDate", from);
+        }
+        if (to != null) {
+            query.setParameter("toDate", to);
+        }
+        if (subjectId != null) {
+            query.setParameter("subjectId", subjectId);
+        }
+
+        List<ExamPerformancePoint> points = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            long passed = ((Number) columns[1]).longValue();
+            long graded = ((Number) columns[2]).longValue();
+            points.add(new ExamPerformancePoint((String) columns[0], passed, graded - passed));
+        }
+
+        examPerformanceCache.put(key, points, generation);
+        return points;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class DashboardStatistics {
+        private long totalStudents;
+        private long totalTeachers;
+        private long totalSubjects;
+        private long totalExams;
+        private long totalAttendance;
+        private double totalFeesCollected;
+        private long passedExams;
+        private long failedExams;
+        private long presentCount;
+        private long absentCount;
+        private double attendanceRate;
+
+        public DashboardStatistics() {
+            // Default constructor
+        }
+    }
+}
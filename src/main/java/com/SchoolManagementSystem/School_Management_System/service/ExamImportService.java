@@ -0,0 +1,175 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.BulkExamRequest.StudentExamData;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkImportResponse;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming import of exam results. The JSON array is read one element at a time, validated
+ * and written in chunks, and the persistence context is cleared after every chunk, so memory
+ * use does not grow with the size of the upload.
+ * <p>
+ * Unlike deleteClass, the whole upload is one transaction: chunks bound memory, not the commit.
+ * Exams have no natural key, so if chunks were committed one by one a request that failed
+ * part-way (malformed JSON, a dropped connection) could not simply be sent again without
+ * recording the earlier chunks' marks twice. Invalid rows do not fail the upload; they are
+ * skipped and reported.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExamImportService {
+
+    private final StudentRepository studentRepository;
+    private final SubjectRepository subjectRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exams.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Accepts either a bare array of {@code {studentId, totalMarks, obtainedMarks}} rows, with subject and
+     * exam date from the request parameters, or a BulkExamRequest object whose subjectId and examDate
+     * appear before studentExams.
+     */
+    @Transactional
+    public BulkImportResponse importExams(InputStream body, Long subjectId, LocalDate examDate) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "subjectId" -> subjectId = parser.getValueAsLong();
+                        case "examDate" -> examDate = parseDate(parser.getValueAsString());
+                        case "studentExams" -> {
+                            return importRows(parser, subjectId, examDate);
+                        }
+                        default -> parser.skipChildren();
+                    }
+                }
+                throw new ValidationException("studentExams array is required");
+            }
+            if (token == JsonToken.START_ARRAY) {
+                return importRows(parser, subjectId, examDate);
+            }
+            throw new ValidationException("Request body must be a JSON array or object");
+        }
+    }
+
+    private BulkImportResponse importRows(JsonParser parser, Long subjectId, LocalDate examDate) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ValidationException("studentExams must be an array");
+        }
+        if (subjectId == null) {
+            throw new ValidationException("Subject ID is required before studentExams");
+        }
+        if (examDate == null) {
+            throw new ValidationException("Exam date is required before studentExams");
+        }
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new NotFoundException("Subject", subjectId);
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        BulkImportResponse response = new BulkImportResponse();
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
+        List<StudentExamData> chunk = new ArrayList<>(chunkSize);
+        long chunkStart = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            chunk.add(parser.readValueAs(StudentExamData.class));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, chunkStart, subjectId, examDate, response, counterDelta);
+                chunkStart += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new ValidationException("Each studentExams entry must be a JSON object");
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, chunkStart, subjectId, examDate, response, counterDelta);
+        }
+
+        dashboardCounterService.apply(counterDelta);
+        return response;
+    }
+
+    private void writeChunk(List<StudentExamData> chunk, long chunkStart, Long subjectId, LocalDate examDate,
+                            BulkImportResponse response, DashboardCounterService.Delta counterDelta) {
+        Set<Long> existingStudentIds = studentRepository.findExistingIds(chunk.stream()
+                .map(StudentExamData::getStudentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentExamData row = chunk.get(i);
+            long index = chunkStart + i;
+            response.setProcessed(response.getProcessed() + 1);
+
+            if (row.getStudentId() == null) {
+                response.addError(index, "Student ID is required");
+                continue;
+            }
+            if (!existingStudentIds.contains(row.getStudentId())) {
+                response.addError(index, "Student not found with id: " + row.getStudentId());
+                continue;
+            }
+            if (row.getTotalMarks() == null) {
+                response.addError(index, "Total marks is required");
+                continue;
+            }
+
+            Exam exam = new Exam();
+            exam.setStudent(studentRepository.getReferenceById(row.getStudentId()));
+            exam.setSubject(subjectRepository.getReferenceById(subjectId));
+            exam.setExamDate(examDate);
+            exam.setTotalMarks(row.getTotalMarks());
+            exam.setObtainedMarks(row.getObtainedMarks());
+            entityManager.persist(exam);
+            counterDelta.exam(exam, 1);
+            response.setCreated(response.getCreated() + 1);
+        }
+
+        // Send this chunk's batched inserts and drop the managed entities before reading the next one
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private LocalDate parseDate(String value) {
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid exam date: " + value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.ExamPerformancePoint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Caches exam-performance chart results per query. An exam change only evicts the
+ * entries whose date range covers the exam's month, after the change commits. Entries
+ * also expire after a fixed time, and the least recently used ones go first when the
+ * cache is full.
+ */
+@Component
+public class ExamPerformanceCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final Cache<Key, List<ExamPerformancePoint>> entries;
+    // Bumped by every eviction; a result computed before an eviction must not be stored after it
+    private long generation;
+
+    public ExamPerformanceCache(@Value("${dashboard.exam-performance.cache-ttl:10m}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public record Key(LocalDate from, LocalDate to, Long subjectId, String className) {
+        boolean covers(LocalDate monthStart, LocalDate monthEnd) {
+            return (from == null || !monthEnd.isBefore(from)) && (to == null || !monthStart.isAfter(to));
+        }
+    }
+
+    public List<ExamPerformancePoint> get(Key key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before running the query.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a result unless an eviction ran since {@code generation} was read, in which case
+     * the result may predate the change that caused it.
+     */
+    public synchronized void put(Key key, List<ExamPerformancePoint> points, long generation) {
+        if (generation == this.generation) {
+            entries.put(key, List.copyOf(points));
+        }
+    }
+
+    /**
+     * Evict every cached chart that includes the month of the given exam date.
+     */
+    public void evictMonth(LocalDate examDate) {
+        if (examDate == null) {
+            return;
+        }
+        LocalDate monthStart = examDate.withDayOfMonth(1);
+        LocalDate monthEnd = examDate.withDayOfMonth(examDate.lengthOfMonth());
+        afterCommit(key -> key.covers(monthStart, monthEnd));
+    }
+
+    /**
+     * Evict the charts filtered by a class, e.g. when a student moves in or out of it.
+     */
+    public void evictClass(String className) {
+        if (className == null) {
+            return;
+        }
+        afterCommit(key -> Objects.equals(key.className(), className.trim()));
+    }
+
+    public void evictAll() {
+        afterCommit(key -> true);
+    }
+
+    private void afterCommit(Predicate<Key> evicted) {
+        Runnable eviction = () -> evict(evicted);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private synchronized void evict(Predicate<Key> evicted) {
+        generation++;
+        entries.asMap().keySet().removeIf(evicted);
+    }
+}
@@ -2,20 +2,28 @@ package com.SchoolManagementSystem.School_Management_System.service;
 
 import com.SchoolManagementSystem.School_Management_System.dto.BulkExamRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.ExamRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ExamRow;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
 import com.SchoolManagementSystem.School_Management_System.model.Exam;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
 import com.SchoolManagementSystem.School_Management_System.repository.ExamRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,21 +32,38 @@ public class ExamService {
     private final ExamRepository examRepository;
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
+    private final DashboardCounterService dashboardCounterService;
+
+    /**
+     * Exam rows for the list endpoint, read as projections rather than entities.
+     * @param page Keyset page (fetched with {@link KeysetPageRequest#probeLimit()}), or null for all exams
+     */
+    @Transactional(readOnly = true)
+    public List<ExamRow> getExamRows(KeysetPageRequest page) {
+        KeysetPageRequest range = page != null ? page : KeysetPageRequest.UNPAGED;
+        return examRepository.findRows(range.lowerBound(), range.upperBound(), range.sort(), range.probeLimit());
+    }
 
-    public List<Exam> getAllExams() {
-        return examRepository.findAll();
+    /**
+     * Streams every exam row into the sink from an open cursor; the transaction lasts until the last row is written.
+     */
+    @Transactional(readOnly = true)
+    public void exportExamRows(StreamingExport.RowSink<ExamRow> sink) throws IOException {
+        StreamingExport.drain(examRepository.streamRows(), sink);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Exam> getExamById(Long id) {
-        return examRepository.findById(id);
+        return examRepository.findWithAssociationsById(id);
     }
 
+    @Transactional
     public Exam createExam(ExamRequest examRequest) {
         Student student = studentRepository.findById(examRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + examRequest.getStudentId()));
+                .orElseThrow(() -> new NotFoundException("Student", examRequest.getStudentId()));
 
-        Subject subject = subjectRepository.findById(examRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + examRequest.getSubjectId()));
+        Subject subject = subjectRepository.findByIdWithTeacher(examRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", examRequest.getSubjectId()));
 
         Exam exam = new Exam();
         exam.setStudent(student);
@@ -47,20 +72,32 @@ public class ExamService {
         exam.setTotalMarks(examRequest.getTotalMarks());
         exam.setObtainedMarks(examRequest.getObtainedMarks());
 
-        return examRepository.save(exam);
+        Exam savedExam = examRepository.save(exam);
+        dashboardCounterService.examAdded(savedExam);
+        return savedExam;
     }
 
     @Transactional
     public List<Exam> createBulkExams(BulkExamRequest bulkExamRequest) {
-        Subject subject = subjectRepository.findById(bulkExamRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + bulkExamRequest.getSubjectId()));
+        Subject subject = subjectRepository.findByIdWithTeacher(bulkExamRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", bulkExamRequest.getSubjectId()));
 
         LocalDate examDate = LocalDate.parse(bulkExamRequest.getExamDate());
         List<Exam> exams = new ArrayList<>();
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
+
+        // Resolve every student in one IN query instead of one findById per row
+        Map<Long, Student> students = studentRepository.findAllById(bulkExamRequest.getStudentExams().stream()
+                        .map(BulkExamRequest.StudentExamData::getStudentId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
 
         for (var studentExamData : bulkExamRequest.getStudentExams()) {
-            Student student = studentRepository.findById(studentExamData.getStudentId())
-                    .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentExamData.getStudentId()));
+            Student student = students.get(studentExamData.getStudentId());
+            if (student == null) {
+                throw new NotFoundException("Student", studentExamData.getStudentId());
+            }
 
             Exam exam = new Exam();
             exam.setStudent(student);
@@ -69,47 +106,58 @@ public class ExamService {
             exam.setTotalMarks(studentExamData.getTotalMarks());
             exam.setObtainedMarks(studentExamData.getObtainedMarks());
 
-            exams.add(examRepository.save(exam));
+            exams.add(exam);
+            counterDelta.exam(exam, 1);
         }
 
+        examRepository.saveAll(exams);
+        dashboardCounterService.apply(counterDelta);
         return exams;
     }
 
+    @Transactional
     public Exam updateExam(Long id, ExamRequest examRequest) {
         Exam existingExam = examRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Exam not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Exam", id));
 
         Student student = studentRepository.findById(examRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + examRequest.getStudentId()));
+                .orElseThrow(() -> new NotFoundException("Student", examRequest.getStudentId()));
 
-        Subject subject = subjectRepository.findById(examRequest.getSubjectId())
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + examRequest.getSubjectId()));
+        Subject subject = subjectRepository.findByIdWithTeacher(examRequest.getSubjectId())
+                .orElseThrow(() -> new NotFoundException("Subject", examRequest.getSubjectId()));
 
+        dashboardCounterService.examRemoved(existingExam);
         existingExam.setStudent(student);
         existingExam.setSubject(subject);
         existingExam.setExamDate(examRequest.getExamDate());
         existingExam.setTotalMarks(examRequest.getTotalMarks());
         existingExam.setObtainedMarks(examRequest.getObtainedMarks());
+        dashboardCounterService.examAdded(existingExam);
 
         return examRepository.save(existingExam);
     }
 
+    @Transactional
     public void deleteExam(Long id) {
-        if (!examRepository.existsById(id)) {
-            throw new RuntimeException("Exam not found with id: " + id);
-        }
-        examRepository.deleteById(id);
+        Exam exam = examRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Exam", id));
+        dashboardCounterService.examRemoved(exam);
+        examRepository.delete(exam);
     }
 
+    @Transactional(readOnly = true)
     public List<Exam> getExamsByStudent(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
-        return examRepository.findByStudent(student);
+        if (!studentRepository.existsById(studentId)) {
+            throw new NotFoundException("Student", studentId);
+        }
+        return examRepository.findWithAssociationsByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<Exam> getExamsBySubject(Long subjectId) {
-        Subject subject = subjectRepository.findById(subjectId)
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + subjectId));
-        return examRepository.findBySubject(subject);
+        if (!subjectRepository.existsById(subjectId)) {
+            throw new NotFoundException("Subject", subjectId);
+        }
+        return examRepository.findWithAssociationsBySubjectId(subjectId);
     }
 }
@@ -1,42 +1,104 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.dto.ClassFeeRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ClassFeeResponse;
 import com.SchoolManagementSystem.School_Management_System.dto.FeeRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.FeeRow;
 import com.SchoolManagementSystem.School_Management_System.dto.FeeUpdateRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
 import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.FeePayment;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.FeePaymentRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
 import com.SchoolManagementSystem.School_Management_System.util.FeeCalculationUtil;
+import com.SchoolManagementSystem.School_Management_System.util.StreamingExport;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class FeeService {
 
     private final FeeRepository feeRepository;
+    private final FeePaymentRepository feePaymentRepository;
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final InvoiceNumberGenerator invoiceNumberGenerator;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Filter fees on any combination of category, class, academic year, term and status.
+     * Null or blank filters are ignored.
+     */
+    @Transactional(readOnly = true)
+    public List<Fee> getFees(String category, String className, String academicYear, String term, String status) {
+        return feeRepository.findByFilters(
+                normalizeCategory(category),
+                blankToNull(className),
+                blankToNull(academicYear),
+                blankToNull(term),
+                blankToNull(status));
+    }
+
+    /**
+     * Fee rows for the list endpoint with the same filters as {@link #getFees}, read as projections
+     * rather than entities.
+     * @param page Keyset page (fetched with {@link KeysetPageRequest#probeLimit()}), or null for all matching fees
+     */
+    @Transactional(readOnly = true)
+    public List<FeeRow> getFeeRows(String category, String className, String academicYear, String term, String status,
+                                   KeysetPageRequest page) {
+        KeysetPageRequest range = page != null ? page : KeysetPageRequest.UNPAGED;
+        return feeRepository.findRowsByFilters(
+                normalizeCategory(category),
+                blankToNull(className),
+                blankToNull(academicYear),
+                blankToNull(term),
+                blankToNull(status),
+                range.lowerBound(),
+                range.upperBound(),
+                range.sort(),
+                range.probeLimit());
+    }
+
+    /**
+     * Streams the fee rows matching the filters into the sink from an open cursor; the transaction
+     * lasts until the last row is written.
+     */
     @Transactional(readOnly = true)
-    public List<Fee> getAllFees() {
-        return feeRepository.findAll();
+    public void exportFeeRows(String category, String className, String academicYear, String term, String status,
+                              StreamingExport.RowSink<FeeRow> sink) throws IOException {
+        StreamingExport.drain(feeRepository.streamRowsByFilters(
+                normalizeCategory(category),
+                blankToNull(className),
+                blankToNull(academicYear),
+                blankToNull(term),
+                blankToNull(status)), sink);
     }
 
     @Transactional(readOnly = true)
     public List<Fee> getFeesByCategory(String category) {
-        List<Fee> allFees = feeRepository.findAll();
-        return allFees.stream()
-                .filter(fee -> category.equalsIgnoreCase(fee.getCategory()))
-                .collect(Collectors.toList());
+        return feeRepository.findByCategory(normalizeCategory(category));
     }
 
     @Transactional(readOnly = true)
@@ -56,25 +118,30 @@ public class FeeService {
 
     @Transactional(readOnly = true)
     public List<Fee> getFeesByClass(String className) {
-        return feeRepository.findAll().stream()
-                .filter(fee -> fee.getStudent() != null && 
-                        (className.equalsIgnoreCase(fee.getStudent().getClassName()) ||
-                         className.equalsIgnoreCase(fee.getStudent().getClass())))
-                .collect(Collectors.toList());
+        return feeRepository.findByStudentClassName(className);
     }
 
     @Transactional(readOnly = true)
     public List<Fee> getFeesByAcademicYear(String academicYear) {
-        return feeRepository.findAll().stream()
-                .filter(fee -> academicYear.equals(fee.getAcademicYear()))
-                .collect(Collectors.toList());
+        return feeRepository.findByAcademicYear(academicYear);
     }
 
     @Transactional(readOnly = true)
     public List<Fee> getFeesByTerm(String term) {
-        return feeRepository.findAll().stream()
-                .filter(fee -> term.equals(fee.getTerm()))
-                .collect(Collectors.toList());
+        return feeRepository.findByTerm(term);
+    }
+
+    /**
+     * Categories are stored upper-case by FeeCalculationUtil.determineCategory,
+     * so normalizing the input keeps the lookup on the category index.
+     */
+    private String normalizeCategory(String category) {
+        String value = blankToNull(category);
+        return value != null ? value.toUpperCase() : null;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 
     /**
@@ -111,77 +178,151 @@ public class FeeService {
     }
 
     /**
-     * Generate unique invoice number
+     * One fee per requested subject. Subjects are resolved with a single query, invoice numbers
+     * come from one reserved block, and the rows go out with saveAll as JDBC batches.
+     * The numbers are taken before the transaction starts, see {@link InvoiceNumberGenerator}.
      */
-    private String generateInvoiceNumber() {
-        LocalDate today = LocalDate.now();
-        Long count = feeRepository.count();
-        Long sequenceNumber = (count != null ? count : 0L) + 1;
-        return FeeCalculationUtil.generateInvoiceNumber(sequenceNumber);
-    }
-
-    @Transactional
     public List<Fee> createFees(FeeRequest feeRequest) {
         // Validate discount
         if (!FeeCalculationUtil.validateDiscount(feeRequest.getDiscountValue(), feeRequest.getDiscountType())) {
-            throw new RuntimeException("Invalid discount value. Percentage must be between 0-100.");
+            throw new ValidationException("Invalid discount value. Percentage must be between 0-100.");
         }
 
+        List<String> invoiceNumbers = invoiceNumberGenerator.next(feeRequest.getSubjectIds().size());
+        return transactionTemplate.execute(status -> insertFees(feeRequest, invoiceNumbers));
+    }
+
+    private List<Fee> insertFees(FeeRequest feeRequest, List<String> invoiceNumbers) {
         Student student = studentRepository.findById(feeRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + feeRequest.getStudentId()));
+                .orElseThrow(() -> new NotFoundException("Student", feeRequest.getStudentId()));
+        Map<Long, Subject> subjects = findSubjects(feeRequest.getSubjectIds());
 
-        List<Fee> fees = new ArrayList<>();
-        
-        // Calculate per-subject amount if multiple subjects
-        Double totalAmount = feeRequest.getTotalAmount();
-        int subjectCount = feeRequest.getSubjectIds().size();
-        Double perSubjectAmount = subjectCount > 0 ? totalAmount / subjectCount : totalAmount;
+        List<Fee> fees = new ArrayList<>(feeRequest.getSubjectIds().size());
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
+        addFees(fees, student, subjects, feeRequest, invoiceNumbers.iterator(), counterDelta);
 
-        // Create a fee record for each subject
-        for (Long subjectId : feeRequest.getSubjectIds()) {
-            Subject subject = subjectRepository.findById(subjectId)
-                    .orElseThrow(() -> new RuntimeException("Subject not found with id: " + subjectId));
+        feeRepository.saveAll(fees);
+        recordInitialPayments(fees);
+        dashboardCounterService.apply(counterDelta);
+        return fees;
+    }
 
-            Fee fee = new Fee();
-            fee.setStudent(student);
-            fee.setSubject(subject);
-            fee.setTotalAmount(perSubjectAmount);
-            fee.setDiscountType(feeRequest.getDiscountType() != null ? feeRequest.getDiscountType() : "percentage");
-            fee.setDiscountValue(feeRequest.getDiscountValue() != null ? feeRequest.getDiscountValue() : 0.0);
-            fee.setAmountPaid(feeRequest.getAmountPaid() != null ? feeRequest.getAmountPaid() : 0.0);
-            fee.setPaymentDate(feeRequest.getPaymentDate() != null ? feeRequest.getPaymentDate() : LocalDate.now());
-            fee.setAcademicYear(feeRequest.getAcademicYear());
-            fee.setTerm(feeRequest.getTerm());
-            fee.setInvoiceNumber(generateInvoiceNumber());
-            
-            // Initialize finalAmount to 0.0 to ensure it's never null before calculation
-            fee.setFinalAmount(0.0);
+    /**
+     * Creates the same set of subject fees for every student in a class, in one transaction:
+     * two lookups (students, subjects), one invoice block and batched inserts, however large
+     * the class is. The invoice block is sized from a student count taken before the transaction.
+     */
+    public ClassFeeResponse createClassFees(String className, ClassFeeRequest classFeeRequest) {
+        if (!FeeCalculationUtil.validateDiscount(classFeeRequest.getDiscountValue(), classFeeRequest.getDiscountType())) {
+            throw new ValidationException("Invalid discount value. Percentage must be between 0-100.");
+        }
 
-            // Calculate all fields (this will update finalAmount)
-            calculateAndSetFeeFields(fee, perSubjectAmount, fee.getDiscountType(), fee.getDiscountValue());
+        long studentCount = studentRepository.countByClassName(className);
+        if (studentCount == 0) {
+            throw new ValidationException("No students found in class: " + className);
+        }
+        List<String> invoiceNumbers = invoiceNumberGenerator.next(
+                Math.toIntExact(studentCount * classFeeRequest.getSubjectIds().size()));
+        return transactionTemplate.execute(status -> insertClassFees(className, classFeeRequest, invoiceNumbers));
+    }
 
-            fees.add(feeRepository.save(fee));
+    private ClassFeeResponse insertClassFees(String className, ClassFeeRequest classFeeRequest, List<String> invoiceNumbers) {
+        List<Student> students = studentRepository.findByClassName(className);
+        if (students.isEmpty()) {
+            throw new ValidationException("No students found in class: " + className);
+        }
+        int feeCount = students.size() * classFeeRequest.getSubjectIds().size();
+        if (feeCount > invoiceNumbers.size()) {
+            throw new ConflictException("Class " + className + " gained students while its fees were being created; please retry");
+        }
+        Map<Long, Subject> subjects = findSubjects(classFeeRequest.getSubjectIds());
+
+        FeeRequest terms = new FeeRequest(null, classFeeRequest.getSubjectIds(), classFeeRequest.getTotalAmount(),
+                classFeeRequest.getDiscountType(), classFeeRequest.getDiscountValue(), 0.0,
+                classFeeRequest.getPaymentDate(), classFeeRequest.getAcademicYear(), classFeeRequest.getTerm());
+        List<Fee> fees = new ArrayList<>(feeCount);
+        Iterator<String> numbers = invoiceNumbers.iterator();
+        DashboardCounterService.Delta counterDelta = dashboardCounterService.newDelta();
+        for (Student student : students) {
+            addFees(fees, student, subjects, terms, numbers, counterDelta);
         }
 
-        return fees;
+        feeRepository.saveAll(fees);
+        recordInitialPayments(fees);
+        dashboardCounterService.apply(counterDelta);
+        double totalAmountDue = 0.0;
+        for (Fee fee : fees) {
+            totalAmountDue += fee.getAmountDue();
+        }
+        return new ClassFeeResponse(className, students.size(), fees.size(), totalAmountDue);
+    }
+
+    private Map<Long, Subject> findSubjects(List<Long> subjectIds) {
+        Map<Long, Subject> subjects = new HashMap<>();
+        for (Subject subject : subjectRepository.findAllByIdWithTeacher(new HashSet<>(subjectIds))) {
+            subjects.put(subject.getId(), subject);
+        }
+        for (Long subjectId : subjectIds) {
+            if (!subjects.containsKey(subjectId)) {
+                throw new NotFoundException("Subject", subjectId);
+            }
+        }
+        return subjects;
+    }
+
+    /**
+     * Appends one unsaved fee per requested subject for the student, splitting the total amount
+     * evenly across the subjects.
+     */
+    private void addFees(List<Fee> fees, Student student, Map<Long, Subject> subjects, FeeRequest terms,
+                         Iterator<String> invoiceNumbers, DashboardCounterService.Delta counterDelta) {
+        int subjectCount = terms.getSubjectIds().size();
+        Double perSubjectAmount = terms.getTotalAmount() / subjectCount;
+        String discountType = terms.getDiscountType() != null ? terms.getDiscountType() : "percentage";
+        Double discountValue = terms.getDiscountValue() != null ? terms.getDiscountValue() : 0.0;
+        Double amountPaid = terms.getAmountPaid() != null ? terms.getAmountPaid() : 0.0;
+        LocalDate paymentDate = terms.getPaymentDate() != null ? terms.getPaymentDate() : LocalDate.now();
+
+        for (Long subjectId : terms.getSubjectIds()) {
+            Fee fee = new Fee();
+            fee.setStudent(student);
+            fee.setSubject(subjects.get(subjectId));
+            fee.setTotalAmount(perSubjectAmount);
+            fee.setDiscountType(discountType);
+            fee.setDiscountValue(discountValue);
+            fee.setAmountPaid(amountPaid);
+            fee.setPaymentDate(paymentDate);
+            fee.setAcademicYear(terms.getAcademicYear());
+            fee.setTerm(terms.getTerm());
+            fee.setInvoiceNumber(invoiceNumbers.next());
+            calculateAndSetFeeFields(fee, perSubjectAmount, discountType, discountValue);
+
+            fees.add(fee);
+            counterDelta.fee(fee, 1);
+        }
     }
 
-    @Transactional
     public Fee createSingleFee(FeeRequest feeRequest) {
         // Validate discount
         if (!FeeCalculationUtil.validateDiscount(feeRequest.getDiscountValue(), feeRequest.getDiscountType())) {
-            throw new RuntimeException("Invalid discount value. Percentage must be between 0-100.");
+            throw new ValidationException("Invalid discount value. Percentage must be between 0-100.");
         }
 
-        Student student = studentRepository.findById(feeRequest.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + feeRequest.getStudentId()));
-
         if (feeRequest.getSubjectIds() == null || feeRequest.getSubjectIds().isEmpty()) {
-            throw new RuntimeException("At least one subject ID is required");
+            throw new ValidationException("At least one subject ID is required");
         }
 
-        Subject subject = subjectRepository.findById(feeRequest.getSubjectIds().get(0))
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + feeRequest.getSubjectIds().get(0)));
+        // Taken before the transaction starts, see InvoiceNumberGenerator
+        String invoiceNumber = invoiceNumberGenerator.next();
+        return transactionTemplate.execute(status -> insertSingleFee(feeRequest, invoiceNumber));
+    }
+
+    private Fee insertSingleFee(FeeRequest feeRequest, String invoiceNumber) {
+        Student student = studentRepository.findById(feeRequest.getStudentId())
+                .orElseThrow(() -> new NotFoundException("Student", feeRequest.getStudentId()));
+
+        Subject subject = subjectRepository.findByIdWithTeacher(feeRequest.getSubjectIds().get(0))
+                .orElseThrow(() -> new NotFoundException("Subject", feeRequest.getSubjectIds().get(0)));
 
         Fee fee = new Fee();
         fee.setStudent(student);
@@ -193,7 +334,7 @@ public class FeeService {
         fee.setPaymentDate(feeRequest.getPaymentDate() != null ? feeRequest.getPaymentDate() : LocalDate.now());
         fee.setAcademicYear(feeRequest.getAcademicYear());
         fee.setTerm(feeRequest.getTerm());
-        fee.setInvoiceNumber(generateInvoiceNumber());
+        fee.setInvoiceNumber(invoiceNumber);
         
         // Initialize finalAmount to 0.0 to ensure it's never null before calculation
         fee.setFinalAmount(0.0);
@@ -201,19 +342,39 @@ public class FeeService {
         // Calculate all fields (this will update finalAmount)
         calculateAndSetFeeFields(fee, feeRequest.getTotalAmount(), fee.getDiscountType(), fee.getDiscountValue());
 
-        return feeRepository.save(fee);
+        Fee savedFee = feeRepository.save(fee);
+        recordInitialPayments(List.of(savedFee));
+        dashboardCounterService.feeAdded(savedFee);
+        return savedFee;
+    }
+
+    /**
+     * An amount already paid when a fee is created is its first ledger entry.
+     */
+    private void recordInitialPayments(List<Fee> fees) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FeePayment> payments = new ArrayList<>();
+        for (Fee fee : fees) {
+            if (fee.getAmountPaid() != null && fee.getAmountPaid() > 0) {
+                payments.add(new FeePayment(null, fee, fee.getAmountPaid(), now));
+            }
+        }
+        feePaymentRepository.saveAll(payments);
     }
 
     @Transactional(readOnly = true)
     public Fee getFeeById(Long id) {
-        return feeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
+        return feeRepository.findWithAssociationsById(id)
+                .orElseThrow(() -> new NotFoundException("Fee", id));
     }
 
     @Transactional
     public Fee updateFee(Long id, FeeUpdateRequest updateRequest) {
-        Fee fee = feeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
+        Fee fee = feeRepository.findWithAssociationsForUpdate(id)
+                .orElseThrow(() -> new NotFoundException("Fee", id));
+
+        // Take the old amount and academic year out of the dashboard counters before changing them
+        dashboardCounterService.feeRemoved(fee);
 
         // Update discount if provided
         if (updateRequest.getDiscountType() != null) {
@@ -222,16 +383,19 @@ public class FeeService {
         if (updateRequest.getDiscountValue() != null) {
             // Validate discount
             if (!FeeCalculationUtil.validateDiscount(updateRequest.getDiscountValue(), fee.getDiscountType())) {
-                throw new RuntimeException("Invalid discount value. Percentage must be between 0-100.");
+                throw new ValidationException("Invalid discount value. Percentage must be between 0-100.");
             }
             fee.setDiscountValue(updateRequest.getDiscountValue());
         }
 
-        // Update amount paid if provided
+        // Update amount paid if provided. The difference goes into the payment ledger as an adjustment so the
+        // ledger keeps summing to amountPaid; the fee row is locked, so no payment can land in between.
+        double paymentAdjustment = 0.0;
         if (updateRequest.getAmountPaid() != null) {
             if (updateRequest.getAmountPaid() < 0) {
-                throw new RuntimeException("Amount paid cannot be negative");
+                throw new ValidationException("Amount paid cannot be negative");
             }
+            paymentAdjustment = updateRequest.getAmountPaid() - (fee.getAmountPaid() != null ? fee.getAmountPaid() : 0.0);
             fee.setAmountPaid(updateRequest.getAmountPaid());
         }
 
@@ -242,6 +406,10 @@ public class FeeService {
 
         // Recalculate all fields (this will also recalculate status based on balance if status wasn't manually set)
         calculateAndSetFeeFields(fee, fee.getTotalAmount(), fee.getDiscountType(), fee.getDiscountValue());
+        // Same limit the payment endpoint enforces
+        if (updateRequest.getAmountPaid() != null && fee.getAmountPaid() > fee.getAmountDue()) {
+            throw new ValidationException("Amount paid exceeds amount due. Maximum payment: $" + fee.getAmountDue());
+        }
         
         // If status was manually set, override the calculated status
         if (updateRequest.getStatus() != null) {
@@ -261,48 +429,49 @@ public class FeeService {
             fee.setTerm(updateRequest.getTerm());
         }
 
+        dashboardCounterService.feeAdded(fee);
+        if (paymentAdjustment != 0.0) {
+            feePaymentRepository.save(new FeePayment(null, fee, paymentAdjustment, LocalDateTime.now()));
+        }
         return feeRepository.save(fee);
     }
 
+    /**
+     * Posts a payment as a single guarded UPDATE on the fee row plus a ledger insert, instead of
+     * read-modify-write on the loaded entity: two cashiers paying the same fee at once both land,
+     * and neither can push the total past the amount due. No retry or up-front lock is needed.
+     */
     @Transactional
     public Fee addPayment(Long id, Double paymentAmount) {
-        Fee fee = feeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
-
         if (paymentAmount == null || paymentAmount <= 0) {
-            throw new RuntimeException("Payment amount must be greater than 0");
+            throw new ValidationException("Payment amount must be greater than 0");
         }
 
-        // Add to existing amount paid
-        Double newAmountPaid = (fee.getAmountPaid() != null ? fee.getAmountPaid() : 0.0) + paymentAmount;
-        
-        // Ensure amount paid doesn't exceed amount due
-        if (newAmountPaid > fee.getAmountDue()) {
-            throw new RuntimeException("Payment amount exceeds amount due. Maximum payment: $" + fee.getAmountDue());
+        if (feeRepository.applyPayment(id, paymentAmount) == 0) {
+            Fee fee = feeRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Fee", id));
+            throw new ValidationException("Payment amount exceeds amount due. Maximum payment: $" + fee.getAmountDue());
         }
+        feePaymentRepository.save(new FeePayment(null, feeRepository.getReferenceById(id), paymentAmount, LocalDateTime.now()));
 
-        fee.setAmountPaid(newAmountPaid);
-        
-        // Recalculate balance
-        Double balance = FeeCalculationUtil.calculateBalance(fee.getAmountDue(), newAmountPaid);
-        fee.setBalance(balance);
+        return feeRepository.findWithAssociationsById(id)
+                .orElseThrow(() -> new NotFoundException("Fee", id));
+    }
 
-        // Update status
-        if (balance <= 0) {
-            fee.setStatus("PAID");
-        } else {
-            fee.setStatus("PARTIAL");
+    @Transactional(readOnly = true)
+    public List<FeePayment> getPayments(Long feeId) {
+        if (!feeRepository.existsById(feeId)) {
+            throw new NotFoundException("Fee", feeId);
         }
-
-        return feeRepository.save(fee);
+        return feePaymentRepository.findByFeeIdOrderByIdAsc(feeId);
     }
 
     @Transactional
     public void deleteFee(Long id) {
-        if (!feeRepository.existsById(id)) {
-            throw new RuntimeException("Fee not found with id: " + id);
-        }
-        feeRepository.deleteById(id);
+        Fee fee = feeRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Fee", id));
+        dashboardCounterService.feeRemoved(fee);
+        feeRepository.delete(fee);
     }
 
     /**
@@ -0,0 +1,134 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.model.InvoiceCounter;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.InvoiceCounterRepository;
+import com.SchoolManagementSystem.School_Management_System.util.FeeCalculationUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out invoice numbers (INV-YYYYMMDD-XXXX) without a query per invoice.
+ * Each node reserves a block of daily suffixes from invoice_counters in a short transaction
+ * of its own and serves numbers from an AtomicLong until the block runs out or the day changes.
+ * Blocks never overlap, so numbers are unique across nodes; unused suffixes of a block are
+ * simply skipped (gaps are allowed).
+ * <p>
+ * Numbers must be taken before the caller opens its transaction. A reservation needs a pool
+ * connection, and asking for a second one while the caller's transaction holds the first can
+ * starve the pool under load (every thread holding one connection and waiting for another),
+ * so calls made inside a transaction are rejected.
+ */
+@Component
+public class InvoiceNumberGenerator {
+
+    private final InvoiceCounterRepository counterRepository;
+    private final FeeRepository feeRepository;
+    private final TransactionTemplate allocationTransaction;
+    private final int blockSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private volatile Block current;
+
+    public InvoiceNumberGenerator(InvoiceCounterRepository counterRepository,
+                                  FeeRepository feeRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${fees.invoice.block-size:50}") int blockSize) {
+        this.counterRepository = counterRepository;
+        this.feeRepository = feeRepository;
+        this.allocationTransaction = new TransactionTemplate(transactionManager);
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        requireNoTransaction();
+        LocalDate today = LocalDate.now(clock);
+        while (true) {
+            Block block = current;
+            if (block != null && block.day.equals(today)) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return FeeCalculationUtil.generateInvoiceNumber(today, value);
+                }
+            }
+            synchronized (this) {
+                if (current == block) {
+                    current = reserve(today, blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Numbers for a multi-fee request; reserves a dedicated block when the cached one is too small.
+     */
+    public List<String> next(int count) {
+        requireNoTransaction();
+        List<String> numbers = new ArrayList<>(count);
+        if (count > blockSize) {
+            LocalDate today = LocalDate.now(clock);
+            Block block = reserve(today, count);
+            for (int i = 0; i < count; i++) {
+                numbers.add(FeeCalculationUtil.generateInvoiceNumber(today, block.next.getAndIncrement()));
+            }
+            return numbers;
+        }
+        for (int i = 0; i < count; i++) {
+            numbers.add(next());
+        }
+        return numbers;
+    }
+
+    private static void requireNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Invoice numbers must be taken before the caller's transaction starts");
+        }
+    }
+
+    private Block reserve(LocalDate day, int size) {
+        try {
+            return allocationTransaction.execute(status -> reserveInTransaction(day, size));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the day's counter row first; it exists now, so lock and bump it
+            return allocationTransaction.execute(status -> reserveInTransaction(day, size));
+        }
+    }
+
+    private Block reserveInTransaction(LocalDate day, int size) {
+        InvoiceCounter counter = counterRepository.findForUpdate(day).orElse(null);
+        long start;
+        if (counter == null) {
+            // First block of the day: start above any number already issued for this date
+            Long maxIssued = feeRepository.findMaxInvoiceSuffix(FeeCalculationUtil.invoicePrefix(day));
+            start = (maxIssued != null ? maxIssued : 0L) + 1;
+            // A plain insert: saveAndFlush would merge into a row another node committed meanwhile
+            counterRepository.insert(day, start + size);
+        } else {
+            start = counter.getNextValue();
+            counter.setNextValue(start + size);
+        }
+        return new Block(day, start, start + size);
+    }
+
+    private static final class Block {
+        private final LocalDate day;
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(LocalDate day, long start, long end) {
+            this.day = day;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.ReportCard;
+import com.SchoolManagementSystem.School_Management_System.dto.ReportCard.SubjectReport;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReportCardService {
+
+    /*
+     * One row per subject the student is enrolled in or has exams, attendance or fees for. Each
+     * source table contributes one fact row per record of the student, read through its student_id
+     * index, and a single GROUP BY sums them per subject, so rows never multiply across tables.
+     * The student row drives the query: an unknown student returns no rows, a student without any
+     * data one row with no subject.
+     */
+    private static final String REPORT_CARD_QUERY = """
+            SELECT st.id, st.name, st.class, sub.id, sub.name, sub.code,
+                   r.exams, r.graded, r.percentage_sum, r.passed, r.present, r.absent,
+                   r.amount_due, r.amount_paid, r.balance
+            FROM students st
+            LEFT JOIN (
+                SELECT subject_id, SUM(exams) AS exams, SUM(graded) AS graded, SUM(percentage) AS percentage_sum,
+                       SUM(passed) AS passed, SUM(present) AS present, SUM(absent) AS absent,
+                       SUM(amount_due) AS amount_due, SUM(amount_paid) AS amount_paid, SUM(balance) AS balance
+                FROM (
+                    SELECT subject_id, 1 AS exams, CASE WHEN percentage IS NULL THEN 0 ELSE 1 END AS graded, percentage,
+                           CASE WHEN percentage >= 50 THEN 1 ELSE 0 END AS passed, 0 AS present, 0 AS absent,
+                           0.0 AS amount_due, 0.0 AS amount_paid, 0.0 AS balance
+                    FROM (SELECT subject_id, obtained_marks * 100.0 / NULLIF(total_marks, 0) AS percentage
+                          FROM exams WHERE student_id = :studentId) e
+                    UNION ALL
+                    SELECT subject_id, 0, 0, NULL, 0,
+                           CASE WHEN status = 'PRESENT' THEN 1 ELSE 0 END, CASE WHEN status = 'ABSENT' THEN 1 ELSE 0 END,
+                           0.0, 0.0, 0.0
+                    FROM attendance WHERE student_id = :studentId
+                    UNION ALL
+                    SELECT subject_id, 0, 0, NULL, 0, 0, 0,
+                           CASE WHEN status = 'CANCELLED' THEN 0 ELSE amount_due END,
+                           CASE WHEN status = 'CANCELLED' THEN 0 ELSE COALESCE(amount_paid, 0) END,
+                           CASE WHEN status = 'CANCELLED' THEN 0 ELSE COALESCE(balance, 0) END
+                    FROM fees WHERE student_id = :studentId
+                    UNION ALL
+                    SELECT subject_id, 0, 0, NULL, 0, 0, 0, 0.0, 0.0, 0.0
+                    FROM student_subjects WHERE student_id = :studentId
+                ) facts
+                GROUP BY subject_id
+            ) r ON 1 = 1
+            LEFT JOIN subjects sub ON sub.id = r.subject_id
+            WHERE st.id = :studentId
+            ORDER BY sub.name, sub.id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Builds the report card from a single aggregate query; the student's existence is checked by the same query.
+     */
+    @Transactional(readOnly = true)
+    public ReportCard getReportCard(Long studentId) {
+        List<?> rows = entityManager.createNativeQuery(REPORT_CARD_QUERY)
+                .setParameter("studentId", studentId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Student", studentId);
+        }
+
+        List<SubjectReport> subjects = new ArrayList<>();
+        long exams = 0;
+        long graded = 0;
+        long passed = 0;
+        long present = 0;
+        long absent = 0;
+        double percentageSum = 0;
+        double outstanding = 0;
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            if (columns[3] == null) {
+                continue;
+            }
+            long subjectExams = toLong(columns[6]);
+            long subjectGraded = toLong(columns[7]);
+            double subjectPercentageSum = toDouble(columns[8]);
+            long subjectPassed = toLong(columns[9]);
+            long subjectPresent = toLong(columns[10]);
+            long subjectAbsent = toLong(columns[11]);
+            double balance = toDouble(columns[14]);
+            subjects.add(new SubjectReport(toLong(columns[3]), (String) columns[4], (String) columns[5],
+                    subjectExams, ratio(subjectPercentageSum, subjectGraded), subjectPassed, subjectGraded - subjectPassed,
+                    subjectPresent, subjectAbsent, ratio(subjectPresent * 100.0, subjectPresent + subjectAbsent),
+                    toDouble(columns[12]), toDouble(columns[13]), balance));
+
+            exams += subjectExams;
+            graded += subjectGraded;
+            percentageSum += subjectPercentageSum;
+            passed += subjectPassed;
+            present += subjectPresent;
+            absent += subjectAbsent;
+            outstanding += balance;
+        }
+
+        Object[] student = (Object[]) rows.get(0);
+        return new ReportCard(toLong(student[0]), (String) student[1], (String) student[2], subjects,
+                exams, ratio(percentageSum, graded), passed, graded - passed,
+                present, absent, ratio(present * 100.0, present + absent), outstanding);
+    }
+
+    private static Double ratio(double sum, long count) {
+        return count > 0 ? sum / count : null;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0;
+    }
+}
@@ -0,0 +1,282 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.BulkImportResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+import com.SchoolManagementSystem.School_Management_System.mapper.StudentMapper;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.SchoolManagementSystem.School_Management_System.util.CsvReader;
+import com.SchoolManagementSystem.School_Management_System.util.ExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding of students from a CSV or NDJSON upload. Rows are parsed as they arrive and
+ * handled in chunks: existing emails and referenced subjects are looked up once per chunk, emails
+ * are deduplicated across the whole upload in memory, and students with their student_subjects
+ * rows are inserted as JDBC batches. Invalid rows are skipped and reported with their line.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    /** CSV header names (case-insensitive); subjectIds holds ids separated by ';' */
+    static final List<String> CSV_COLUMNS = List.of("name", "email", "phone", "gender", "address", "dateOfBirth",
+            "class", "parentName", "parentPhone", "discount", "subjectIds");
+
+    private final StudentRepository studentRepository;
+    private final SubjectRepository subjectRepository;
+    private final StudentMapper studentMapper;
+    private final DashboardCounterService dashboardCounterService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${students.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record ImportRow(long index, long line, StudentRequest request, String error) {
+    }
+
+    @Transactional
+    public BulkImportResponse importStudents(InputStream body, ExportFormat format) throws IOException {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Import run = new Import();
+        if (format == ExportFormat.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        run.finish();
+        dashboardCounterService.apply(dashboardCounterService.newDelta().students(run.response.getCreated()));
+        return run.response;
+    }
+
+    private void readNdjson(BufferedReader reader, Import run) throws IOException {
+        String text;
+        long line = 0;
+        long index = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                StudentRequest request = objectMapper.readValue(text, StudentRequest.class);
+                // A bare null line parses without error but has no fields to validate
+                run.add(request != null
+                        ? new ImportRow(index, line, request, null)
+                        : new ImportRow(index, line, null, "Expected a JSON object"));
+            } catch (JsonProcessingException e) {
+                run.add(new ImportRow(index, line, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+            index++;
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Import run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new ValidationException("CSV header row is required");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String column = CSV_COLUMNS.stream().filter(c -> c.equalsIgnoreCase(name)).findFirst()
+                    .orElseThrow(() -> new ValidationException("Unknown CSV column: " + name
+                            + ". Supported columns: " + String.join(",", CSV_COLUMNS)));
+            columns.put(column, i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("email")) {
+            throw new ValidationException("CSV header must contain name and email columns");
+        }
+
+        List<String> fields;
+        long index = 0;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                run.add(new ImportRow(index, csv.recordLine(), toRequest(fields, columns), null));
+            } catch (RuntimeException e) {
+                run.add(new ImportRow(index, csv.recordLine(), null, e.getMessage()));
+            }
+            index++;
+        }
+    }
+
+    private StudentRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+        StudentRequest request = new StudentRequest();
+        request.setName(field(fields, columns, "name"));
+        request.setEmail(field(fields, columns, "email"));
+        request.setPhone(field(fields, columns, "phone"));
+        request.setGender(field(fields, columns, "gender"));
+        request.setAddress(field(fields, columns, "address"));
+        request.setClassName(field(fields, columns, "class"));
+        request.setParentName(field(fields, columns, "parentName"));
+        request.setParentPhone(field(fields, columns, "parentPhone"));
+
+        String dateOfBirth = field(fields, columns, "dateOfBirth");
+        try {
+            request.setDateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid dateOfBirth: " + dateOfBirth + " (expected YYYY-MM-DD)");
+        }
+        String discount = field(fields, columns, "discount");
+        try {
+            request.setDiscount(discount != null ? Double.valueOf(discount) : 0.0);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid discount: " + discount);
+        }
+        String subjectIds = field(fields, columns, "subjectIds");
+        if (subjectIds != null) {
+            List<Long> ids = new ArrayList<>();
+            for (String id : subjectIds.split(";")) {
+                if (!id.isBlank()) {
+                    try {
+                        ids.add(Long.valueOf(id.trim()));
+                    } catch (NumberFormatException e) {
+                        throw new ValidationException("Invalid subject id: " + id.trim());
+                    }
+                }
+            }
+            request.setSubjectIds(ids);
+        }
+        return request;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer position = columns.get(column);
+        if (position == null || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * State of one upload: the pending chunk, the emails accepted so far and the report.
+     */
+    private class Import {
+        private final BulkImportResponse response = new BulkImportResponse();
+        private final Map<String, Long> acceptedEmails = new HashMap<>();
+        private final List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        void add(ImportRow row) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                writeChunk();
+            }
+        }
+
+        void finish() {
+            if (!chunk.isEmpty()) {
+                writeChunk();
+            }
+        }
+
+        private void writeChunk() {
+            List<StudentRequest> requests = chunk.stream()
+                    .map(ImportRow::request)
+                    .filter(Objects::nonNull)
+                    .toList();
+            Set<String> emails = requests.stream()
+                    .map(StudentRequest::getEmail)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> existingEmails = emails.isEmpty() ? Set.of() : studentRepository.findExistingEmails(emails);
+            Set<Long> subjectIds = requests.stream()
+                    .filter(request -> request.getSubjectIds() != null)
+                    .flatMap(request -> request.getSubjectIds().stream())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> existingSubjectIds = subjectIds.isEmpty() ? Set.of() : subjectRepository.findExistingIds(subjectIds);
+
+            for (ImportRow row : chunk) {
+                response.setProcessed(response.getProcessed() + 1);
+                String error = row.error() != null ? row.error() : validate(row, existingEmails, existingSubjectIds);
+                if (error != null) {
+                    response.addError(row.index(), row.line(), error);
+                    continue;
+                }
+                entityManager.persist(toStudent(row.request()));
+                acceptedEmails.put(row.request().getEmail(), row.line());
+                response.setCreated(response.getCreated() + 1);
+            }
+            chunk.clear();
+
+            // Send this chunk's batched inserts and drop the managed entities before reading the next one
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        private String validate(ImportRow row, Set<String> existingEmails, Set<Long> existingSubjectIds) {
+            StudentRequest request = row.request();
+            Set<ConstraintViolation<StudentRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            Long firstLine = acceptedEmails.get(request.getEmail());
+            if (firstLine != null) {
+                return "Duplicate email " + request.getEmail() + " (already imported from line " + firstLine + ")";
+            }
+            if (existingEmails.contains(request.getEmail())) {
+                return "Student with email " + request.getEmail() + " already exists";
+            }
+            if (request.getSubjectIds() != null) {
+                for (Long subjectId : request.getSubjectIds()) {
+                    if (subjectId == null || !existingSubjectIds.contains(subjectId)) {
+                        return "Subject not found with id: " + subjectId;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private Student toStudent(StudentRequest request) {
+        Student student = studentMapper.toStudent(request);
+        if (request.getSubjectIds() != null) {
+            List<Subject> subjects = new ArrayList<>();
+            for (Long subjectId : request.getSubjectIds().stream().distinct().toList()) {
+                subjects.add(subjectRepository.getReferenceById(subjectId));
+            }
+            student.setSubjects(subjects);
+        }
+        return student;
+    }
+}
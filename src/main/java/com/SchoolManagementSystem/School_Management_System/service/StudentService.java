@@ -1,19 +1,34 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.dto.ClassDeletionResponse;
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentSummary;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.mapper.StudentMapper;
 import com.SchoolManagementSystem.School_Management_System.model.Student;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.AttendanceRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.ExamRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -22,101 +37,171 @@ public class StudentService {
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
     private final FeeRepository feeRepository;
-    private final ModelMapper modelMapper;
+    private final ExamRepository examRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final StudentMapper studentMapper;
+    private final DashboardCounterService dashboardCounterService;
+    private final ExamPerformanceCache examPerformanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${students.delete.chunk-size:200}")
+    private int deleteChunkSize;
+
+    private static final int ASSOCIATION_FETCH_CHUNK_SIZE = 1000;
 
     @Transactional(readOnly = true)
-    public List<Student> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        // Force loading of subjects to avoid LazyInitializationException
-        students.forEach(student -> {
-            if (student.getSubjects() != null) {
-                student.getSubjects().size(); // Trigger lazy loading
-            }
-        });
-        return students;
+    public List<StudentSummary> getAllStudents() {
+        return studentMapper.toSummaries(studentRepository.findAllWithSubjects());
     }
 
-    public List<Student> getStudentsByClass(String className) {
-        return studentRepository.findByClassName(className);
+    /**
+     * One keyset page of students, fetched with {@link KeysetPageRequest#probeLimit()}.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentsPage(KeysetPageRequest page) {
+        // Subjects are loaded separately: fetch-joining a collection would make Hibernate apply the limit in memory
+        List<Student> students = studentRepository.findPage(page.lowerBound(), page.upperBound(), page.sort(), page.probeLimit());
+        forEachChunk(students, studentRepository::fetchSubjects);
+        return studentMapper.toSummaries(students);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentSummary> getStudentsByClass(String className) {
+        return studentMapper.toSummaries(studentRepository.findByClassNameWithSubjects(className));
     }
 
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
-        return studentRepository.findById(id);
+        return studentRepository.findWithSubjectsById(id)
+                .map(this::withHistory);
     }
 
     @Transactional
     public Student createStudent(StudentRequest studentRequest) {
         if (studentRepository.existsByEmail(studentRequest.getEmail())) {
-            throw new RuntimeException("Student with email " + studentRequest.getEmail() + " already exists");
+            throw new ConflictException("Student with email " + studentRequest.getEmail() + " already exists");
         }
 
-        Student student = modelMapper.map(studentRequest, Student.class);
+        Student student = studentMapper.toStudent(studentRequest);
 
         // Assign subjects if provided
         if (studentRequest.getSubjectIds() != null && !studentRequest.getSubjectIds().isEmpty()) {
-            List<Subject> subjects = new ArrayList<>();
-            for (Long subjectId : studentRequest.getSubjectIds()) {
-                Subject subject = subjectRepository.findById(subjectId)
-                        .orElseThrow(() -> new RuntimeException("Subject not found with id: " + subjectId));
-                subjects.add(subject);
-            }
-            student.setSubjects(subjects);
+            student.setSubjects(findSubjects(studentRequest.getSubjectIds()));
         }
 
-        return studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+        dashboardCounterService.studentCreated();
+        return savedStudent;
     }
 
     @Transactional
     public Student updateStudent(Long id, StudentRequest studentRequest) {
         Student existingStudent = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Student", id));
 
         if (!existingStudent.getEmail().equals(studentRequest.getEmail()) &&
                 studentRepository.existsByEmail(studentRequest.getEmail())) {
-            throw new RuntimeException("Student with email " + studentRequest.getEmail() + " already exists");
+            throw new ConflictException("Student with email " + studentRequest.getEmail() + " already exists");
         }
 
         // Update basic fields
-        existingStudent.setName(studentRequest.getName());
-        existingStudent.setEmail(studentRequest.getEmail());
-        existingStudent.setPhone(studentRequest.getPhone());
-        existingStudent.setGender(studentRequest.getGender());
-        existingStudent.setAddress(studentRequest.getAddress());
-        existingStudent.setDateOfBirth(studentRequest.getDateOfBirth());
-        existingStudent.setClassName(studentRequest.getClassName());
-        existingStudent.setParentName(studentRequest.getParentName());
-        existingStudent.setParentPhone(studentRequest.getParentPhone());
-        existingStudent.setDiscount(studentRequest.getDiscount() != null ? studentRequest.getDiscount() : 0.0);
+        String previousClass = existingStudent.getClassName();
+        studentMapper.updateStudent(studentRequest, existingStudent);
+        if (!Objects.equals(previousClass, existingStudent.getClassName())) {
+            // The student's exams move from one class's charts to the other's
+            examPerformanceCache.evictClass(previousClass);
+            examPerformanceCache.evictClass(existingStudent.getClassName());
+        }
 
         // Update subjects if provided
         if (studentRequest.getSubjectIds() != null) {
-            List<Subject> subjects = new ArrayList<>();
-            for (Long subjectId : studentRequest.getSubjectIds()) {
-                Subject subject = subjectRepository.findById(subjectId)
-                        .orElseThrow(() -> new RuntimeException("Subject not found with id: " + subjectId));
-                subjects.add(subject);
-            }
-            existingStudent.setSubjects(subjects);
+            existingStudent.setSubjects(findSubjects(studentRequest.getSubjectIds()));
         }
 
-        return studentRepository.save(existingStudent);
+        Student savedStudent = studentRepository.save(existingStudent);
+        forEachChunk(List.of(savedStudent), studentRepository::fetchSubjects);
+        return withHistory(savedStudent);
     }
 
     @Transactional
     public void deleteStudent(Long id) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
-        
-        // Explicitly delete all fees associated with this student
-        // This ensures fees are deleted even if cascade doesn't work in all scenarios
-        feeRepository.deleteByStudentId(id);
-        
-        // Delete the student
-        // The cascade = CascadeType.ALL on other relationships (exams, attendances) will handle those
-        studentRepository.delete(student);
+        if (!studentRepository.existsById(id)) {
+            throw new NotFoundException("Student", id);
+        }
+        deleteStudentRows(List.of(id));
+    }
+
+    /**
+     * Deletes every student of a class with their exams, attendance and fees. Students are taken
+     * in chunks of students.delete.chunk-size, each deleted in its own transaction, so locks and
+     * undo stay bounded however long the class history is. If a chunk fails, earlier chunks stay
+     * deleted and calling again carries on with the students that are left.
+     */
+    public ClassDeletionResponse deleteClass(String className) {
+        ClassDeletionResponse total = new ClassDeletionResponse(className, 0, 0, 0, 0);
+        while (true) {
+            ClassDeletionResponse chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = studentRepository.findIdsByClassName(className, Limit.of(deleteChunkSize));
+                return ids.isEmpty() ? null : deleteStudentRows(ids);
+            });
+            if (chunk == null) {
+                return total;
+            }
+            total = total.plus(chunk);
+        }
+    }
+
+    /**
+     * Set-based delete: one statement per child table for the whole set of students instead of
+     * loading every exam, attendance and fee row and deleting it on its own.
+     */
+    private ClassDeletionResponse deleteStudentRows(List<Long> ids) {
+        // Subtract the students and everything deleted with them from the dashboard counters
+        dashboardCounterService.studentsDeleted(ids);
+
+        int exams = examRepository.deleteByStudentIds(ids);
+        int attendance = attendanceRepository.deleteByStudentIds(ids);
+        int fees = feeRepository.deleteByStudentIds(ids);
+        int students = studentRepository.deleteByIds(ids);
+        return new ClassDeletionResponse(null, students, exams, attendance, fees);
     }
 
     public Optional<Student> getStudentByEmail(String email) {
         return studentRepository.findByEmail(email);
     }
+
+    /**
+     * Loads the requested subjects with one query, in request order and without repeats.
+     */
+    private List<Subject> findSubjects(List<Long> subjectIds) {
+        Map<Long, Subject> found = new HashMap<>();
+        subjectRepository.findAllById(subjectIds).forEach(subject -> found.put(subject.getId(), subject));
+        List<Subject> subjects = new ArrayList<>();
+        for (Long subjectId : new LinkedHashSet<>(subjectIds)) {
+            Subject subject = found.get(subjectId);
+            if (subject == null) {
+                throw new NotFoundException("Subject", subjectId);
+            }
+            subjects.add(subject);
+        }
+        return subjects;
+    }
+
+    /**
+     * Initializes the exams, attendances and fees the single-student JSON includes, one query per
+     * collection. List endpoints return {@link StudentSummary} and never load them.
+     */
+    private Student withHistory(Student student) {
+        List<Student> students = List.of(student);
+        studentRepository.fetchExams(students);
+        studentRepository.fetchAttendances(students);
+        studentRepository.fetchFees(students);
+        return student;
+    }
+
+    private void forEachChunk(List<Student> students, Consumer<List<Student>> loader) {
+        for (int from = 0; from < students.size(); from += ASSOCIATION_FETCH_CHUNK_SIZE) {
+            loader.accept(students.subList(from, Math.min(from + ASSOCIATION_FETCH_CHUNK_SIZE, students.size())));
+        }
+    }
 }
@@ -1,14 +1,14 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.SubjectRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
 import com.SchoolManagementSystem.School_Management_System.model.Subject;
 import com.SchoolManagementSystem.School_Management_System.model.Teacher;
 import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
 import com.SchoolManagementSystem.School_Management_System.repository.TeacherRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,38 +21,33 @@ public class SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final TeacherRepository teacherRepository;
-    private final ModelMapper modelMapper;
-
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final DashboardCounterService dashboardCounterService;
 
     @Transactional(readOnly = true)
     public List<Subject> getAllSubjects() {
-        return entityManager.createQuery(
-                "SELECT DISTINCT s FROM Subject s LEFT JOIN FETCH s.teacher", 
-                Subject.class
-        ).getResultList();
+        return subjectRepository.findAllWithTeacher();
+    }
+
+    /**
+     * One keyset page of subjects with their teacher, fetched with {@link KeysetPageRequest#probeLimit()}.
+     */
+    @Transactional(readOnly = true)
+    public List<Subject> getSubjectsPage(KeysetPageRequest page) {
+        return subjectRepository.findPage(page.lowerBound(), page.upperBound(), page.sort(), page.probeLimit());
     }
 
     @Transactional(readOnly = true)
     public Optional<Subject> getSubjectById(Long id) {
-        Subject subject = entityManager.createQuery(
-                "SELECT s FROM Subject s LEFT JOIN FETCH s.teacher WHERE s.id = :id", 
-                Subject.class
-        ).setParameter("id", id)
-        .getResultStream()
-        .findFirst()
-        .orElse(null);
-        return Optional.ofNullable(subject);
+        return subjectRepository.findByIdWithTeacher(id);
     }
 
     @Transactional
     public Subject createSubject(SubjectRequest subjectRequest) {
         if (subjectRepository.existsByCode(subjectRequest.getCode())) {
-            throw new RuntimeException("Subject with code " + subjectRequest.getCode() + " already exists");
+            throw new ConflictException("Subject with code " + subjectRequest.getCode() + " already exists");
         }
 
-        // Create new Subject entity manually to avoid ModelMapper issues
+        // Create new Subject entity manually
         Subject subject = new Subject();
         subject.setId(null); // Explicitly set ID to null to ensure it's a new entity
         subject.setName(subjectRequest.getName());
@@ -62,24 +57,26 @@ public class SubjectService {
 
         if (subjectRequest.getTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(subjectRequest.getTeacherId())
-                    .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + subjectRequest.getTeacherId()));
+                    .orElseThrow(() -> new NotFoundException("Teacher", subjectRequest.getTeacherId()));
             subject.setTeacher(teacher);
         }
 
-        return subjectRepository.save(subject);
+        Subject savedSubject = subjectRepository.save(subject);
+        dashboardCounterService.subjectCreated();
+        return savedSubject;
     }
 
     @Transactional
     public Subject updateSubject(Long id, SubjectRequest subjectRequest) {
         Subject existingSubject = subjectRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Subject not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Subject", id));
 
         if (!existingSubject.getCode().equals(subjectRequest.getCode()) &&
                 subjectRepository.existsByCode(subjectRequest.getCode())) {
-            throw new RuntimeException("Subject with code " + subjectRequest.getCode() + " already exists");
+            throw new ConflictException("Subject with code " + subjectRequest.getCode() + " already exists");
         }
 
-        // Update fields manually to avoid ModelMapper issues
+        // Update fields manually
         existingSubject.setName(subjectRequest.getName());
         existingSubject.setCode(subjectRequest.getCode());
         existingSubject.setDescription(subjectRequest.getDescription());
@@ -87,7 +84,7 @@ public class SubjectService {
 
         if (subjectRequest.getTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(subjectRequest.getTeacherId())
-                    .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + subjectRequest.getTeacherId()));
+                    .orElseThrow(() -> new NotFoundException("Teacher", subjectRequest.getTeacherId()));
             existingSubject.setTeacher(teacher);
         } else {
             existingSubject.setTeacher(null);
@@ -96,10 +93,12 @@ public class SubjectService {
         return subjectRepository.save(existingSubject);
     }
 
+    @Transactional
     public void deleteSubject(Long id) {
         if (!subjectRepository.existsById(id)) {
-            throw new RuntimeException("Subject not found with id: " + id);
+            throw new NotFoundException("Subject", id);
         }
+        dashboardCounterService.subjectDeleted(id);
         subjectRepository.deleteById(id);
     }
 
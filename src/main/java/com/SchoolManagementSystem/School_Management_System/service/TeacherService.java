@@ -1,11 +1,16 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
 import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import com.SchoolManagementSystem.School_Management_System.mapper.TeacherMapper;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
 import com.SchoolManagementSystem.School_Management_System.model.Teacher;
 import com.SchoolManagementSystem.School_Management_System.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,43 +20,59 @@ import java.util.Optional;
 public class TeacherService {
 
     private final TeacherRepository teacherRepository;
-    private final ModelMapper modelMapper;
+    private final TeacherMapper teacherMapper;
+    private final DashboardCounterService dashboardCounterService;
 
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    /**
+     * One keyset page of teachers, fetched with {@link KeysetPageRequest#probeLimit()}.
+     */
+    public List<Teacher> getTeachersPage(KeysetPageRequest page) {
+        return teacherRepository.findPage(page.lowerBound(), page.upperBound(), page.sort(), page.probeLimit());
+    }
+
     public Optional<Teacher> getTeacherById(Long id) {
         return teacherRepository.findById(id);
     }
 
+    @Transactional
     public Teacher createTeacher(TeacherRequest teacherRequest) {
         if (teacherRepository.existsByEmail(teacherRequest.getEmail())) {
-            throw new RuntimeException("Teacher with email " + teacherRequest.getEmail() + " already exists");
+            throw new ConflictException("Teacher with email " + teacherRequest.getEmail() + " already exists");
         }
 
-        Teacher teacher = modelMapper.map(teacherRequest, Teacher.class);
-        return teacherRepository.save(teacher);
+        Teacher teacher = teacherMapper.toTeacher(teacherRequest);
+        Teacher savedTeacher = teacherRepository.save(teacher);
+        dashboardCounterService.teacherCreated();
+        return savedTeacher;
     }
 
     public Teacher updateTeacher(Long id, TeacherRequest teacherRequest) {
         Teacher existingTeacher = teacherRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Teacher", id));
 
         if (!existingTeacher.getEmail().equals(teacherRequest.getEmail()) &&
                 teacherRepository.existsByEmail(teacherRequest.getEmail())) {
-            throw new RuntimeException("Teacher with email " + teacherRequest.getEmail() + " already exists");
+            throw new ConflictException("Teacher with email " + teacherRequest.getEmail() + " already exists");
         }
 
-        modelMapper.map(teacherRequest, existingTeacher);
+        teacherMapper.updateTeacher(teacherRequest, existingTeacher);
         return teacherRepository.save(existingTeacher);
     }
 
+    @Transactional
     public void deleteTeacher(Long id) {
-        if (!teacherRepository.existsById(id)) {
-            throw new RuntimeException("Teacher not found with id: " + id);
-        }
-        teacherRepository.deleteById(id);
+        Teacher teacher = teacherRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Teacher", id));
+
+        // Deleting a teacher cascades to their subjects, so those leave the counters too
+        List<Long> subjectIds = teacher.getSubjects().stream().map(Subject::getId).toList();
+        dashboardCounterService.teacherDeleted(subjectIds);
+
+        teacherRepository.delete(teacher);
     }
 
     public Optional<Teacher> getTeacherByEmail(String email) {
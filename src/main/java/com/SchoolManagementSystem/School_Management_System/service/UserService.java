@@ -1,5 +1,7 @@
 package com.SchoolManagementSystem.School_Management_System.service;
 
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
 import com.SchoolManagementSystem.School_Management_System.model.User;
 import com.SchoolManagementSystem.School_Management_System.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,18 +30,18 @@ public class UserService {
 
     public User createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("User with email " + user.getEmail() + " already exists");
+            throw new ConflictException("User with email " + user.getEmail() + " already exists");
         }
         return userRepository.save(user);
     }
 
     public User updateUser(Long id, User user) {
         User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("User", id));
 
         if (!existingUser.getEmail().equals(user.getEmail()) &&
                 userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("User with email " + user.getEmail() + " already exists");
+            throw new ConflictException("User with email " + user.getEmail() + " already exists");
         }
 
         existingUser.setEmail(user.getEmail());
@@ -51,7 +53,7 @@ public class UserService {
 
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
+            throw new NotFoundException("User", id);
         }
         userRepository.deleteById(id);
     }
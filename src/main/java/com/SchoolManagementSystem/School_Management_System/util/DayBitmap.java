@@ -0,0 +1,52 @@
+package com.SchoolManagementSystem.School_Management_System.util;
+
+import java.util.Arrays;
+
+/**
+ * Bit operations on day bitmaps stored as byte arrays, where bit {@code day % 8} of byte
+ * {@code day / 8} stands for one day. Arrays may be shorter than the days they cover; missing
+ * bytes read as zero.
+ */
+public class DayBitmap {
+
+    private DayBitmap() {
+    }
+
+    public static boolean get(byte[] bits, int day) {
+        int index = day >>> 3;
+        return index < bits.length && (bits[index] & (1 << (day & 7))) != 0;
+    }
+
+    /**
+     * Copy of the bitmap with the day's bit set or cleared, grown if needed.
+     */
+    public static byte[] with(byte[] bits, int day, boolean value) {
+        byte[] result = Arrays.copyOf(bits, Math.max(bits.length, (day >>> 3) + 1));
+        if (value) {
+            result[day >>> 3] |= (byte) (1 << (day & 7));
+        } else {
+            result[day >>> 3] &= (byte) ~(1 << (day & 7));
+        }
+        return result;
+    }
+
+    /**
+     * Number of set bits from {@code fromDay} to {@code toDay}, both inclusive: a popcount per byte,
+     * with the first and last byte masked to the range.
+     */
+    public static int count(byte[] bits, int fromDay, int toDay) {
+        int last = Math.min(toDay >>> 3, bits.length - 1);
+        int count = 0;
+        for (int index = fromDay >>> 3; index <= last; index++) {
+            int value = bits[index] & 0xFF;
+            if (index == fromDay >>> 3) {
+                value &= 0xFF << (fromDay & 7);
+            }
+            if (index == toDay >>> 3) {
+                value &= 0xFF >>> (7 - (toDay & 7));
+            }
+            count += Integer.bitCount(value);
+        }
+        return count;
+    }
+}
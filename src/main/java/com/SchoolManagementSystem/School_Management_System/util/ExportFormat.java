@@ -0,0 +1,47 @@
+package com.SchoolManagementSystem.School_Management_System.util;
+
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented wire formats supported by the export and bulk import endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Format of an upload from its Content-Type; anything other than CSV is read as NDJSON.
+     */
+    public static ExportFormat fromContentType(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV.mediaType) ? CSV : NDJSON;
+    }
+
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported export format: " + value + ". Use ndjson or csv");
+        }
+    }
+}
@@ -11,6 +11,7 @@ public class FeeCalculationUtil {
     private static final String FREE_CATEGORY = "FREE";
     private static final String DISCOUNT_CATEGORY = "DISCOUNT";
     private static final String FULL_PAYMENT_CATEGORY = "FULL_PAYMENT";
+    private static final DateTimeFormatter INVOICE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
 
     /**
      * Calculate discount amount based on type and value
@@ -106,9 +107,26 @@ public class FeeCalculationUtil {
      * @return Generated invoice number
      */
     public static String generateInvoiceNumber(Long sequenceNumber) {
-        String datePrefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String sequence = String.format("%04d", sequenceNumber != null ? sequenceNumber : 1);
-        return "INV-" + datePrefix + "-" + sequence;
+        return generateInvoiceNumber(LocalDate.now(), sequenceNumber != null ? sequenceNumber : 1);
+    }
+
+    /**
+     * Generate invoice number for a given day in format: INV-YYYYMMDD-XXXX
+     * @param date Day the sequence number was allocated for
+     * @param sequenceNumber Sequential number within that day
+     * @return Generated invoice number
+     */
+    public static String generateInvoiceNumber(LocalDate date, long sequenceNumber) {
+        return invoicePrefix(date) + String.format("%04d", sequenceNumber);
+    }
+
+    /**
+     * Invoice number prefix for a day: INV-YYYYMMDD-
+     * @param date Invoice day
+     * @return Prefix shared by all invoice numbers of that day
+     */
+    public static String invoicePrefix(LocalDate date) {
+        return "INV-" + date.format(INVOICE_DATE_FORMAT) + "-";
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.SchoolManagementSystem.School_Management_System.util;
+
+import com.SchoolManagementSystem.School_Management_System.dto.KeysetPageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds list responses for keyset-paged endpoints. The body stays a plain JSON array; the
+ * cursor of the next page is returned in the X-Next-Cursor header and as a Link rel="next" URL.
+ */
+public final class KeysetPagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * @param rows Rows fetched with {@link KeysetPageRequest#probeLimit()}, i.e. up to limit + 1
+     * @param page Page request the rows were fetched for, or null for an unpaged list
+     * @param idOf Id accessor of the row type
+     */
+    public static <T> ResponseEntity<List<T>> ok(List<T> rows, KeysetPageRequest page, Function<T, Long> idOf) {
+        if (page == null || page == KeysetPageRequest.UNPAGED || rows.size() <= page.limit()) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> pageRows = rows.subList(0, page.limit());
+        Long nextCursor = idOf.apply(pageRows.get(pageRows.size() - 1));
+        String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("limit", page.limit())
+                .build()
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor))
+                .header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"")
+                .body(pageRows);
+    }
+}
@@ -0,0 +1,160 @@
+package com.SchoolManagementSystem.School_Management_System.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds export responses that write rows to the client while they are read from the database.
+ * Nothing is collected in memory: each row is serialized as an NDJSON line or a CSV record as
+ * soon as the cursor returns it, and the output is flushed every {@value #FLUSH_EVERY_ROWS} rows
+ * so the first bytes leave before the query has finished. Clients sending Accept-Encoding: gzip
+ * get a gzip-compressed body.
+ */
+@Component
+public class StreamingExport {
+
+    static final int FLUSH_EVERY_ROWS = 500;
+
+    /**
+     * Receives rows one at a time while the source cursor is open.
+     */
+    @FunctionalInterface
+    public interface RowSink<T> {
+        void accept(T row) throws IOException;
+    }
+
+    /**
+     * Opens a cursor (typically inside a read-only service transaction) and pushes every row into the sink.
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void writeTo(RowSink<T> sink) throws IOException;
+    }
+
+    /**
+     * Pushes every row of a cursor-backed stream into the sink and closes the stream.
+     */
+    public static <T> void drain(Stream<T> rows, RowSink<? super T> sink) throws IOException {
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+            }
+        }
+    }
+
+    private final ObjectWriter rowWriter;
+
+    public StreamingExport(ObjectMapper objectMapper) {
+        // Flushing is done in batches below; flushing per value would defeat gzip and the socket buffer
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param name       Base file name of the download, e.g. "fees"
+     * @param csvColumns CSV header, in the order produced by csvValues
+     * @param csvValues  Column values of one row for the CSV format
+     * @param source     Producer of the rows
+     */
+    public <T> ResponseEntity<StreamingResponseBody> ok(String name,
+                                                        ExportFormat format,
+                                                        String acceptEncoding,
+                                                        List<String> csvColumns,
+                                                        Function<T, List<?>> csvValues,
+                                                        RowSource<T> source) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writeCsv(writer, csvColumns, csvValues, source);
+            } else {
+                writeNdjson(writer, source);
+            }
+            writer.close();
+        };
+
+        String fileName = name + "-" + LocalDate.now() + "." + format.extension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private <T> void writeNdjson(Writer writer, RowSource<T> source) throws IOException {
+        JsonGenerator generator = rowWriter.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly; drop Jackson's default space between root values
+        generator.setRootValueSeparator(null);
+        long[] count = {0};
+        source.writeTo(row -> {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+            flushPeriodically(generator, ++count[0]);
+        });
+        generator.close();
+    }
+
+    private <T> void writeCsv(Writer writer, List<String> columns, Function<T, List<?>> values,
+                              RowSource<T> source) throws IOException {
+        writeCsvRecord(writer, columns);
+        long[] count = {0};
+        source.writeTo(row -> {
+            writeCsvRecord(writer, values.apply(row));
+            flushPeriodically(writer, ++count[0]);
+        });
+    }
+
+    private static void flushPeriodically(Flushable output, long rowsWritten) throws IOException {
+        if (rowsWritten == 1 || rowsWritten % FLUSH_EVERY_ROWS == 0) {
+            output.flush();
+        }
+    }
+
+    static void writeCsvRecord(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
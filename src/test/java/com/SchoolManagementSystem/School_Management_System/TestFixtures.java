@@ -0,0 +1,119 @@
+package com.SchoolManagementSystem.School_Management_System;
+
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.FeePayment;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import com.SchoolManagementSystem.School_Management_System.repository.AttendanceRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.ExamRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.FeePaymentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.TeacherRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves test data straight through the repositories. Rows written here bypass the services, so
+ * they are not counted by the dashboard counters until the next reconcile.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final TeacherRepository teacherRepository;
+    private final SubjectRepository subjectRepository;
+    private final StudentRepository studentRepository;
+    private final ExamRepository examRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final FeeRepository feeRepository;
+    private final FeePaymentRepository feePaymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public Teacher teacher(String name, String email) {
+        Teacher teacher = new Teacher();
+        teacher.setName(name);
+        teacher.setEmail(email);
+        return teacherRepository.save(teacher);
+    }
+
+    public Subject subject(String name, String code) {
+        return subject(name, code, null);
+    }
+
+    public Subject subject(String name, String code, Teacher teacher) {
+        Subject subject = new Subject();
+        subject.setName(name);
+        subject.setCode(code);
+        subject.setTeacher(teacher);
+        return subjectRepository.save(subject);
+    }
+
+    public Student student(String name, String email, String className, Subject... subjects) {
+        Student student = new Student();
+        student.setName(name);
+        student.setEmail(email);
+        student.setClassName(className);
+        student.setSubjects(new ArrayList<>(List.of(subjects)));
+        return studentRepository.save(student);
+    }
+
+    public Exam exam(Student student, Subject subject, LocalDate examDate, int totalMarks, Integer obtainedMarks) {
+        return examRepository.save(new Exam(null, subject, student, examDate, totalMarks, obtainedMarks));
+    }
+
+    public Attendance attendance(Student student, Subject subject, LocalDate date, AttendanceStatus status) {
+        return attendanceRepository.save(new Attendance(null, student, subject, date, status));
+    }
+
+    /** An unsaved fee with nothing paid yet, for tests that set more fields before saving it. */
+    public Fee newFee(Student student, Subject subject, String invoiceNumber, double amountDue, LocalDate paymentDate) {
+        Fee fee = new Fee();
+        fee.setStudent(student);
+        fee.setSubject(subject);
+        fee.setInvoiceNumber(invoiceNumber);
+        fee.setTotalAmount(amountDue);
+        fee.setAmountDue(amountDue);
+        fee.setFinalAmount(amountDue);
+        fee.setBalance(amountDue);
+        fee.setPaymentDate(paymentDate);
+        return fee;
+    }
+
+    public Fee fee(Student student, Subject subject, String invoiceNumber, double amountDue, LocalDate paymentDate) {
+        return feeRepository.save(newFee(student, subject, invoiceNumber, amountDue, paymentDate));
+    }
+
+    /**
+     * A student in one subject with two exams, three days of attendance and a 100.00 fee of which
+     * 40.00 has been paid, recorded in the ledger.
+     */
+    public Student studentWithHistory(String className, String email, Subject subject) {
+        return transactionTemplate.execute(status -> {
+            Student student = student(email, email, className, subject);
+            for (int i = 0; i < 2; i++) {
+                exam(student, subject, LocalDate.of(2025, 1, 10 + i), 100, 60);
+            }
+            for (int i = 0; i < 3; i++) {
+                attendance(student, subject, LocalDate.of(2025, 1, 10 + i), AttendanceStatus.PRESENT);
+            }
+            Fee fee = newFee(student, subject, "INV-" + email, 100.0, LocalDate.of(2025, 1, 15));
+            fee.setAmountPaid(40.0);
+            fee.setBalance(60.0);
+            feeRepository.save(fee);
+            feePaymentRepository.save(new FeePayment(null, fee, 40.0, LocalDateTime.now()));
+            return student;
+        });
+    }
+}
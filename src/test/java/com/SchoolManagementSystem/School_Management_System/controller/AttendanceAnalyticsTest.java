@@ -0,0 +1,107 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The analytics endpoints must return one aggregated row per student, subject, class or week
+ * with the right present/absent counts and rate, limited to the requested date range.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "TEACHER")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AttendanceAnalyticsTest {
+
+    // March 2031 is not used by any other test; the 3rd and the 10th are Mondays
+    private static final String RANGE = "from=2031-03-01&to=2031-03-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @BeforeAll
+    void seed() {
+        Student first = createStudent("Analytics First", "ANA-CLASS");
+        Student second = createStudent("Analytics Second", "ANA-CLASS");
+        Student third = createStudent("Analytics Third", "ANA-OTHER");
+        Subject math = fixtures.subject("Analytics Math", "ANA-MATH");
+        Subject physics = fixtures.subject("Analytics Physics", "ANA-PHYS");
+
+        record(first, math, "2031-03-03", AttendanceStatus.PRESENT);
+        record(first, math, "2031-03-04", AttendanceStatus.ABSENT);
+        record(second, math, "2031-03-03", AttendanceStatus.PRESENT);
+        record(third, physics, "2031-03-05", AttendanceStatus.PRESENT);
+        record(first, physics, "2031-03-10", AttendanceStatus.PRESENT);
+        record(second, math, "2031-03-12", AttendanceStatus.ABSENT);
+        record(third, physics, "2031-03-16", AttendanceStatus.ABSENT);
+        record(first, math, "2031-04-01", AttendanceStatus.ABSENT);
+    }
+
+    @Test
+    void ratesPerStudentAndClass() throws Exception {
+        mockMvc.perform(get("/api/attendance/analytics/students?" + RANGE + "&class=ANA-CLASS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Analytics First"))
+                .andExpect(jsonPath("$[0].present").value(2))
+                .andExpect(jsonPath("$[0].absent").value(1))
+                .andExpect(jsonPath("$[1].rate").value(50.0));
+
+        mockMvc.perform(get("/api/attendance/analytics/classes?" + RANGE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'ANA-CLASS')].present").value(3))
+                .andExpect(jsonPath("$[?(@.name == 'ANA-CLASS')].absent").value(2))
+                .andExpect(jsonPath("$[?(@.name == 'ANA-CLASS')].rate").value(60.0))
+                .andExpect(jsonPath("$[?(@.name == 'ANA-OTHER')].rate").value(50.0));
+    }
+
+    @Test
+    void ratesPerSubjectAndWeek() throws Exception {
+        mockMvc.perform(get("/api/attendance/analytics/subjects?from=2031-03-10&to=2031-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Analytics Math')].rate").value(0.0))
+                .andExpect(jsonPath("$[?(@.name == 'Analytics Physics')].present").value(1))
+                .andExpect(jsonPath("$[?(@.name == 'Analytics Physics')].absent").value(1));
+
+        mockMvc.perform(get("/api/attendance/analytics/weekly?" + RANGE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].week").value("2031-03-03"))
+                .andExpect(jsonPath("$[0].rate").value(75.0))
+                .andExpect(jsonPath("$[1].week").value("2031-03-10"))
+                .andExpect(jsonPath("$[1].present").value(1))
+                .andExpect(jsonPath("$[1].absent").value(2));
+    }
+
+    @Test
+    void invertedRangeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/attendance/analytics/weekly?from=2031-03-31&to=2031-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Student createStudent(String name, String className) {
+        return fixtures.student(name, name.toLowerCase().replace(' ', '.') + "@school.com", className);
+    }
+
+    private void record(Student student, Subject subject, String date, AttendanceStatus status) {
+        fixtures.attendance(student, subject, LocalDate.parse(date), status);
+    }
+}
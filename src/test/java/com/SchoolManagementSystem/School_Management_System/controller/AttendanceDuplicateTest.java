@@ -0,0 +1,255 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.config.AttendanceUniqueKeyInitializer;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceResponse;
+import com.SchoolManagementSystem.School_Management_System.exception.ConflictException;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.DashboardCounter;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.service.AttendanceService;
+import com.SchoolManagementSystem.School_Management_System.service.DashboardCounterService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A student has at most one attendance record per subject and day: resubmitted roll calls are
+ * reported instead of doubling the table, racing single creates get a 409, the idempotent PUT
+ * reports and counts exactly what it wrote even when roll calls race, and duplicates left from
+ * before the unique key are removed on startup.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "TEACHER")
+class AttendanceDuplicateTest {
+
+    private static final int THREADS = 8;
+    // School year of the May 2033 roll calls
+    private static final String UPSERT_SCOPE = "2032-2033";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private AttendanceUniqueKeyInitializer uniqueKeyInitializer;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void resubmittedRollCallIsRejectedPerRow() throws Exception {
+        Subject subject = createSubject("DUP-ROLL");
+        Long first = createStudent("dup.first@school.com").getId();
+        Long second = createStudent("dup.second@school.com").getId();
+        String rollCall = "{\"subjectId\": " + subject.getId() + ", \"date\": \"2032-05-03\", \"studentAttendances\": ["
+                + "{\"studentId\": " + first + ", \"status\": \"PRESENT\"},"
+                + "{\"studentId\": " + second + ", \"status\": \"ABSENT\"},"
+                + "{\"studentId\": " + first + ", \"status\": \"ABSENT\"}]}";
+
+        mockMvc.perform(post("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(rollCall))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[2].error").value("Duplicate student in roll call: " + first));
+
+        mockMvc.perform(post("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(rollCall))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[1].error").value(
+                        "Attendance already recorded for student " + second + " on 2032-05-03; use PUT /api/attendance/bulk to overwrite it"));
+
+        String single = "{\"studentId\": " + first + ", \"subjectId\": " + subject.getId()
+                + ", \"date\": \"2032-05-03\", \"status\": \"ABSENT\"}";
+        mockMvc.perform(post("/api/attendance").contentType(MediaType.APPLICATION_JSON).content(single))
+                .andExpect(status().isConflict());
+
+        assertEquals(2L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+    }
+
+    @Test
+    void rollCallUpsertReportsWhatItWrote() throws Exception {
+        Subject subject = createSubject("UPS-ROLL");
+        Long first = createStudent("ups.first@school.com").getId();
+        Long second = createStudent("ups.second@school.com").getId();
+        Long third = createStudent("ups.third@school.com").getId();
+        // The rows above bypass the counters, so start from a recount
+        dashboardCounterService.reconcile();
+        DashboardCounter before = dashboardCounterService.getCounter(UPSERT_SCOPE);
+        String firstCall = "{\"subjectId\": " + subject.getId() + ", \"date\": \"2033-05-04\", \"studentAttendances\": ["
+                + "{\"studentId\": " + first + ", \"status\": \"PRESENT\"},"
+                + "{\"studentId\": " + second + ", \"status\": \"ABSENT\"}]}";
+        String correction = "{\"subjectId\": " + subject.getId() + ", \"date\": \"2033-05-04\", \"studentAttendances\": ["
+                + "{\"studentId\": " + first + ", \"status\": \"PRESENT\"},"
+                + "{\"studentId\": " + second + ", \"status\": \"PRESENT\"},"
+                + "{\"studentId\": " + third + ", \"status\": \"ABSENT\"}]}";
+
+        mockMvc.perform(put("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(firstCall))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("CREATED"));
+        Long firstId = ((Number) entityManager.createNativeQuery("SELECT id FROM attendance WHERE subject_id = "
+                + subject.getId() + " AND student_id = " + first).getSingleResult()).longValue();
+
+        mockMvc.perform(put("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(correction))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results[0].outcome").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results[0].attendanceId").value(firstId))
+                .andExpect(jsonPath("$.results[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("CREATED"));
+
+        assertEquals(3L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM attendance WHERE status = 'PRESENT' AND student_id = " + second));
+        DashboardCounter after = dashboardCounterService.getCounter(UPSERT_SCOPE);
+        assertEquals(before.getPresentCount() + 2, after.getPresentCount());
+        assertEquals(before.getAbsentCount() + 1, after.getAbsentCount());
+        assertEquals(List.of(), dashboardCounterService.reconcile());
+    }
+
+    @Test
+    void concurrentUpsertsCreateEachRecordOnce() throws Exception {
+        Subject subject = createSubject("UPS-RACE");
+        List<BulkAttendanceRequest.StudentAttendanceData> rollCall = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rollCall.add(new BulkAttendanceRequest.StudentAttendanceData(
+                    createStudent("ups.race" + i + "@school.com").getId(), i % 2 == 0 ? "PRESENT" : "ABSENT"));
+        }
+        dashboardCounterService.reconcile();
+        BulkAttendanceRequest request = new BulkAttendanceRequest(subject.getId(), rollCall, "2033-05-11");
+
+        List<BulkAttendanceResponse> responses = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<BulkAttendanceResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return attendanceService.upsertBulkAttendance(request);
+                }));
+            }
+            start.countDown();
+            for (Future<BulkAttendanceResponse> future : futures) {
+                responses.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(rollCall.size(), responses.stream().mapToInt(BulkAttendanceResponse::getCreated).sum());
+        assertEquals(0, responses.stream().mapToInt(r -> r.getUpdated() + r.getFailed()).sum());
+        assertEquals(5L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+        assertEquals(List.of(), dashboardCounterService.reconcile());
+    }
+
+    @Test
+    void concurrentCreatesOfTheSameRecordConflict() throws Exception {
+        Subject subject = createSubject("CRT-RACE");
+        Long studentId = createStudent("crt.race@school.com").getId();
+        dashboardCounterService.reconcile();
+        AttendanceRequest request = new AttendanceRequest(studentId, subject.getId(), LocalDate.of(2032, 6, 15),
+                Attendance.AttendanceStatus.PRESENT);
+
+        int created = 0;
+        int conflicts = 0;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Attendance>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return attendanceService.createAttendance(request);
+                }));
+            }
+            start.countDown();
+            for (Future<Attendance> future : futures) {
+                try {
+                    future.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    // Whether the existence check or the unique key stopped it, the loser gets a 409
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                    conflicts++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created);
+        assertEquals(THREADS - 1, conflicts);
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+        assertEquals(List.of(), dashboardCounterService.reconcile());
+    }
+
+    @Test
+    void duplicatesFromBeforeTheUniqueKeyAreRemovedOnStartup() {
+        Subject subject = createSubject("DUP-LEGACY");
+        Student student = createStudent("dup.legacy@school.com");
+        String insert = "INSERT INTO attendance (id, student_id, subject_id, date, status) VALUES (%d, "
+                + student.getId() + ", " + subject.getId() + ", DATE '2032-06-01', '%s')";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createNativeQuery("ALTER TABLE attendance DROP CONSTRAINT " + Attendance.UNIQUE_KEY).executeUpdate();
+            entityManager.createNativeQuery(insert.formatted(900_000_001L, "PRESENT")).executeUpdate();
+            entityManager.createNativeQuery(insert.formatted(900_000_002L, "ABSENT")).executeUpdate();
+        });
+
+        uniqueKeyInitializer.afterSingletonsInstantiated();
+
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+        assertEquals("ABSENT", entityManager.createNativeQuery(
+                "SELECT status FROM attendance WHERE subject_id = " + subject.getId()).getSingleResult());
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM information_schema.table_constraints WHERE constraint_name = '"
+                + Attendance.UNIQUE_KEY + "'"));
+    }
+
+    private long countRows(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    private Subject createSubject(String code) {
+        return fixtures.subject("Duplicates " + code, code);
+    }
+
+    private Student createStudent(String email) {
+        return fixtures.student(email, email, null);
+    }
+}
@@ -0,0 +1,137 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Regression guard: a roll call must not cost SQL statements per student. Student ids and recorded
+ * rows are checked with one query each and the records are inserted in batches, while invalid rows
+ * are reported one by one without failing the valid ones.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "TEACHER")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BulkAttendanceCreationTest {
+
+    private static final int STUDENTS = 1000;
+    // Subject, student and recorded-row lookups plus the dashboard counter updates
+    // (ALL and the school year; the first update of a school year also creates its rows)
+    private static final int MAX_STATEMENTS = 10;
+    // Sequence allocation size and hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                studentIds.add(fixtures.student("Roll Call Student " + i, "roll.call" + i + "@school.com", "ROLL-CLASS").getId());
+            }
+        });
+    }
+
+    @Test
+    void fullRollCallUsesBoundedStatementCount() throws Exception {
+        Subject subject = fixtures.subject("Roll Call Maths", "ROLL-MATH");
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            rows.add(row(studentIds.get(i), i % 3 == 0 ? "ABSENT" : "PRESENT"));
+        }
+
+        statistics().clear();
+        mockMvc.perform(post("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(rollCall(subject, rows)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(STUDENTS))
+                .andExpect(jsonPath("$.failed").value(0));
+        long statements = statistics().getPrepareStatementCount();
+
+        assertEquals((long) STUDENTS, countRows(subject));
+        // Besides the fixed lookups, one sequence call and one insert batch per BATCH_SIZE records
+        assertTrue(statements <= MAX_STATEMENTS + 2 * STUDENTS / BATCH_SIZE,
+                "Roll call for " + STUDENTS + " students ran " + statements + " statements");
+    }
+
+    @Test
+    void invalidRowsAreReportedAndValidRowsInserted() throws Exception {
+        Subject subject = fixtures.subject("Roll Call Science", "ROLL-SCI");
+        List<String> rows = List.of(
+                row(studentIds.get(0), "PRESENT"),
+                row(987654321L, "PRESENT"),
+                row(studentIds.get(1), "LATE"),
+                row(studentIds.get(2), "ABSENT"),
+                row(studentIds.get(0), "ABSENT"),
+                "{\"studentId\": " + studentIds.get(3) + "}");
+
+        mockMvc.perform(post("/api/attendance/bulk").contentType(MediaType.APPLICATION_JSON).content(rollCall(subject, rows)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].error").value("Student not found with id: 987654321"))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].error").value("Invalid status: LATE"))
+                .andExpect(jsonPath("$.results[3].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[4].error").value("Duplicate student in roll call: " + studentIds.get(0)))
+                .andExpect(jsonPath("$.results[5].error").value("Status is required"));
+
+        assertEquals(2L, countRows(subject));
+        assertEquals("PRESENT", entityManager.createNativeQuery("SELECT status FROM attendance WHERE subject_id = "
+                + subject.getId() + " AND student_id = " + studentIds.get(0)).getSingleResult());
+    }
+
+    private static String rollCall(Subject subject, List<String> rows) {
+        return "{\"subjectId\": " + subject.getId() + ", \"date\": \"2044-03-09\", \"studentAttendances\": "
+                + rows.stream().collect(Collectors.joining(",", "[", "]")) + "}";
+    }
+
+    private static String row(Long studentId, String status) {
+        return "{\"studentId\": " + studentId + ", \"status\": \"" + status + "\"}";
+    }
+
+    private long countRows(Subject subject) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId())
+                .getSingleResult()).longValue();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,120 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Regression guard for running with spring.jpa.open-in-view=false: every endpoint that returns
+ * entities must hand Jackson fully loaded objects, down to the subject's teacher, instead of
+ * relying on lazy loading while the response is rendered.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class EntityEndpointSerializationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Test
+    void entityEndpointsRenderWithoutOpenSessionInView() throws Exception {
+        LocalDate date = LocalDate.of(2025, 3, 10);
+        Teacher teacher = fixtures.teacher("Ms Teacher", "serialization.teacher@school.com");
+        Subject subject = fixtures.subject("Physics", "SER-PHY", teacher);
+        Student student = fixtures.student("Serialized Student", "serialization.student@school.com", "Grade 7", subject);
+        Exam exam = fixtures.exam(student, subject, date, 100, 64);
+        Attendance attendance = fixtures.attendance(student, subject, date, Attendance.AttendanceStatus.PRESENT);
+
+        Fee fee = fixtures.newFee(student, subject, "INV-20250310-0001", 200.0, date);
+        fee.setCategory("FULL_PAYMENT");
+        fee.setAcademicYear("2024-2025");
+        fee.setTerm("Term 2");
+        feeRepository.save(fee);
+
+        long studentId = student.getId();
+        long subjectId = subject.getId();
+
+        // Responses that embed the subject include its teacher
+        for (String url : List.of(
+                "/api/students/" + studentId,
+                "/api/exams/" + exam.getId(),
+                "/api/exams/student/" + studentId,
+                "/api/exams/subject/" + subjectId,
+                "/api/attendance/" + attendance.getId(),
+                "/api/attendance/student/" + studentId,
+                "/api/attendance/subject/" + subjectId,
+                "/api/attendance/date/2025-03-10",
+                "/api/fees/" + fee.getId(),
+                "/api/fees/student/" + studentId,
+                "/api/fees/subject/" + subjectId,
+                "/api/fees/status/PENDING",
+                "/api/fees/category/FULL_PAYMENT",
+                "/api/fees/class/Grade 7",
+                "/api/fees/academic-year/2024-2025",
+                "/api/fees/term/Term 2",
+                "/api/subjects",
+                "/api/subjects/" + subjectId)) {
+            assertRendered(get(url), 200, "Ms Teacher");
+        }
+        assertRendered(get("/api/students"), 200, "Physics");
+        assertRendered(get("/api/students/class/Grade 7"), 200, "Physics");
+        assertRendered(get("/api/teachers"), 200, "Ms Teacher");
+
+        String examBody = "{\"subjectId\":" + subjectId + ",\"studentId\":" + studentId
+                + ",\"examDate\":\"2025-03-11\",\"totalMarks\":100,\"obtainedMarks\":80}";
+        assertRendered(post("/api/exams").contentType(MediaType.APPLICATION_JSON).content(examBody), 201, "Ms Teacher");
+        assertRendered(put("/api/exams/" + exam.getId()).contentType(MediaType.APPLICATION_JSON).content(examBody), 200, "Ms Teacher");
+
+        String attendanceBody = "{\"studentId\":" + studentId + ",\"subjectId\":" + subjectId
+                + ",\"date\":\"2025-03-11\",\"status\":\"ABSENT\"}";
+        assertRendered(post("/api/attendance").contentType(MediaType.APPLICATION_JSON).content(attendanceBody), 201, "Ms Teacher");
+        // The update keeps its own date: one record per student, subject and day
+        assertRendered(put("/api/attendance/" + attendance.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(attendanceBody.replace("2025-03-11", "2025-03-10")), 200, "Ms Teacher");
+
+        String feeBody = "{\"studentId\":" + studentId + ",\"subjectIds\":[" + subjectId + "],\"totalAmount\":150,"
+                + "\"paymentDate\":\"2025-03-11\"}";
+        assertRendered(post("/api/fees").contentType(MediaType.APPLICATION_JSON).content(feeBody), 201, "Ms Teacher");
+        assertRendered(put("/api/fees/" + fee.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"term\":\"Term 3\"}"), 200, "Ms Teacher");
+        assertRendered(post("/api/fees/" + fee.getId() + "/payment").contentType(MediaType.APPLICATION_JSON).content("{\"amount\":50}"), 200, "Ms Teacher");
+
+        String studentBody = "{\"name\":\"Serialized Student\",\"email\":\"serialization.student@school.com\",\"class\":\"Grade 8\"}";
+        assertRendered(put("/api/students/" + studentId).contentType(MediaType.APPLICATION_JSON).content(studentBody), 200, "Physics");
+    }
+
+    private void assertRendered(RequestBuilder request, int expectedStatus, String expectedText) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String body = result.getResponse().getContentAsString();
+        String target = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(result.getResponse().getStatus() == expectedStatus, target + " returned "
+                + result.getResponse().getStatus() + ": " + body);
+        assertTrue(body.contains(expectedText), target + " did not render " + expectedText + ": " + body);
+    }
+}
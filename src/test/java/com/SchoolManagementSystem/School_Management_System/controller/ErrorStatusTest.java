@@ -0,0 +1,67 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Domain errors raised by the services must reach the client with their own status instead of
+ * the blanket 400 that untyped runtime exceptions get.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ErrorStatusTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownIdsAreNotFound() throws Exception {
+        mockMvc.perform(delete("/api/students/987654321"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Student not found with id: 987654321"));
+        mockMvc.perform(delete("/api/subjects/987654321"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/fees/987654321/payment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Fee not found with id: 987654321"));
+    }
+
+    @Test
+    void duplicateEmailIsConflict() throws Exception {
+        String teacher = "{\"name\": \"Ada Byron\", \"email\": \"ada.byron@school.com\"}";
+        mockMvc.perform(post("/api/teachers").contentType(MediaType.APPLICATION_JSON).content(teacher))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/teachers").contentType(MediaType.APPLICATION_JSON).content(teacher))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Teacher with email ada.byron@school.com already exists"));
+    }
+
+    @Test
+    void invalidParametersAreBadRequest() throws Exception {
+        mockMvc.perform(get("/api/students").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
+    @Test
+    void domainErrorsCarryNoStackTrace() {
+        assertEquals(0, new NotFoundException("Student", 1L).getStackTrace().length);
+    }
+}
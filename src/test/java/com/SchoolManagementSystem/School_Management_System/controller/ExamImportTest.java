@@ -0,0 +1,175 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Exam;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.ExamRepository;
+import com.SchoolManagementSystem.School_Management_System.service.ExamImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streaming exam import: rows are validated against the students that exist and written chunk by
+ * chunk with a fixed number of statements per chunk, rejected rows are reported by index, and an
+ * upload that cannot be parsed writes nothing.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExamImportTest {
+
+    private static final int CHUNK_SIZE = 4;
+    private static final int STUDENTS = 10;
+    private static final LocalDate EXAM_DATE = LocalDate.of(2025, 2, 20);
+    // Subject check, id allocation and the dashboard counter updates
+    private static final int FIXED_STATEMENTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private ExamRepository examRepository;
+    @Autowired
+    private ExamImportService examImportService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> studentIds = new ArrayList<>();
+    private int defaultChunkSize;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(fixtures.student("Import Student " + i, "exam.import" + i + "@school.com", "EXI-CLASS").getId());
+        }
+    }
+
+    @BeforeEach
+    void smallChunks() {
+        defaultChunkSize = (int) ReflectionTestUtils.getField(importService(), "chunkSize");
+        ReflectionTestUtils.setField(importService(), "chunkSize", CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void restoreChunkSize() {
+        ReflectionTestUtils.setField(importService(), "chunkSize", defaultChunkSize);
+    }
+
+    @Test
+    void validRowsAreWrittenPerChunkAndRejectedRowsReported() throws Exception {
+        Subject subject = fixtures.subject("Import Maths", "EXI-MATH");
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            rows.add(row(studentIds.get(i), "100", String.valueOf(50 + i)));
+        }
+        rows.set(2, row(null, "100", "70"));
+        rows.set(5, row(987654321L, "100", "70"));
+        rows.set(8, row(studentIds.get(8), null, "70"));
+        String body = "{\"subjectId\": " + subject.getId() + ", \"examDate\": \"" + EXAM_DATE + "\", \"studentExams\": "
+                + rows.stream().collect(Collectors.joining(",", "[", "]")) + "}";
+
+        statistics().clear();
+        mockMvc.perform(post("/api/exams/bulk/stream").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.processed").value(STUDENTS))
+                .andExpect(jsonPath("$.created").value(STUDENTS - 3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("Student ID is required"))
+                .andExpect(jsonPath("$.errors[1].index").value(5))
+                .andExpect(jsonPath("$.errors[1].error").value("Student not found with id: 987654321"))
+                .andExpect(jsonPath("$.errors[2].index").value(8))
+                .andExpect(jsonPath("$.errors[2].error").value("Total marks is required"));
+        long statements = statistics().getPrepareStatementCount();
+
+        List<Exam> exams = examRepository.findBySubject(subject);
+        assertEquals(STUDENTS - 3, exams.size());
+        assertTrue(exams.stream().allMatch(exam -> EXAM_DATE.equals(exam.getExamDate())));
+        // One student-id lookup and one insert batch per chunk
+        int chunks = (STUDENTS + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        assertTrue(statements <= FIXED_STATEMENTS + 2 * chunks, "Importing " + STUDENTS + " rows ran " + statements + " statements");
+    }
+
+    @Test
+    void persistenceContextIsClearedAfterEveryChunk() {
+        Subject subject = fixtures.subject("Import Science", "EXI-SCI");
+        String body = studentIds.stream()
+                .map(id -> row(id, "100", "80"))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                examImportService.importExams(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                        subject.getId(), EXAM_DATE);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void malformedEntryAfterAWrittenChunkWritesNothing() throws Exception {
+        Subject subject = fixtures.subject("Import History", "EXI-HIST");
+        String body = studentIds.subList(0, CHUNK_SIZE + 1).stream()
+                .map(id -> row(id, "100", "80"))
+                .collect(Collectors.joining(",", "[", ", 42]"));
+
+        mockMvc.perform(post("/api/exams/bulk/stream")
+                        .param("subjectId", subject.getId().toString())
+                        .param("examDate", EXAM_DATE.toString())
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(List.of(), examRepository.findBySubject(subject));
+    }
+
+    private static String row(Long studentId, String totalMarks, String obtainedMarks) {
+        return "{\"studentId\": " + studentId + ", \"totalMarks\": " + totalMarks + ", \"obtainedMarks\": " + obtainedMarks + "}";
+    }
+
+    private ExamImportService importService() {
+        return AopTestUtils.getTargetObject(examImportService);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,103 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportEndpointTest {
+
+    private static final int FEE_COUNT = 1200;
+    // Other tests share the database; every export below is scoped to this academic year
+    private static final String ACADEMIC_YEAR = "EXPORT-2025";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @BeforeAll
+    void seedFees() {
+        Subject subject = fixtures.subject("Maths, \"Advanced\"", "EXP-MATH");
+        Student student = fixtures.student("Export Student", "export.student@school.com", "Grade 9");
+
+        List<Fee> fees = new ArrayList<>();
+        for (int i = 0; i < FEE_COUNT; i++) {
+            Fee fee = fixtures.newFee(student, subject, "INV-20250101-" + i, 100.0, LocalDate.of(2025, 1, 1));
+            fee.setCategory(i % 2 == 0 ? "FREE" : "FULL_PAYMENT");
+            fee.setAcademicYear(ACADEMIC_YEAR);
+            fees.add(fee);
+        }
+        feeRepository.saveAll(fees);
+    }
+
+    @Test
+    void ndjsonExportWritesOneJsonObjectPerLine() throws Exception {
+        String body = export("/api/fees/export?academicYear=" + ACADEMIC_YEAR).getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(FEE_COUNT, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.startsWith("{\"id\":") && line.endsWith("}")));
+    }
+
+    @Test
+    void csvExportAppliesFiltersAndQuotesValues() throws Exception {
+        String body = export("/api/fees/export?format=csv&category=free&academicYear=" + ACADEMIC_YEAR).getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(FEE_COUNT / 2 + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("id,studentId,studentName"));
+        assertTrue(lines.get(1).contains(",\"Maths, \"\"Advanced\"\"\",EXP-MATH,"));
+    }
+
+    @Test
+    void exportIsGzippedWhenTheClientAcceptsIt() throws Exception {
+        MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/fees/export?format=csv&academicYear=" + ACADEMIC_YEAR)
+                        .header("Accept-Encoding", "gzip, deflate")).andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        String body = new String(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(FEE_COUNT + 1, body.lines().count());
+        assertTrue(compressed.length < body.length() / 5);
+    }
+
+    private MvcResult export(String url) throws Exception {
+        return mockMvc.perform(asyncDispatch(mockMvc.perform(get(url)).andReturn()))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
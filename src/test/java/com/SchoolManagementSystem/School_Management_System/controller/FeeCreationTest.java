@@ -0,0 +1,119 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Regression guard: creating fees must not cost SQL statements per fee. A multi-subject request
+ * runs a fixed number of statements, and a whole class only adds one id allocation and one insert
+ * batch per 50 fees.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeeCreationTest {
+
+    private static final int SUBJECTS = 10;
+    private static final int STUDENTS = 40;
+    private static final String CLASS_NAME = "FEE-CLASS";
+    // Lookups, invoice block, sequence call and insert batch, plus the dashboard counter updates
+    // (ALL and the school year; the first update of a school year also creates its row)
+    private static final int MAX_STATEMENTS = 12;
+    // Sequence allocation size and hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> subjectIds = new ArrayList<>();
+    private Long studentId;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < SUBJECTS; i++) {
+            subjectIds.add(fixtures.subject("Fee Subject " + i, "FEE-" + i).getId());
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            studentId = fixtures.student("Fee Student " + i, "fee.student" + i + "@school.com", CLASS_NAME).getId();
+        }
+    }
+
+    @Test
+    void multiSubjectFeeUsesFixedStatementCount() throws Exception {
+        String body = "{\"studentId\": " + studentId + ", \"subjectIds\": " + ids()
+                + ", \"totalAmount\": 1000, \"discountType\": \"percentage\", \"discountValue\": 10}";
+
+        statistics().clear();
+        mockMvc.perform(post("/api/fees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(SUBJECTS))
+                .andExpect(jsonPath("$[0].amountDue").value(90.0))
+                .andExpect(jsonPath("$[0].category").value("DISCOUNT"));
+        long statements = statistics().getPrepareStatementCount();
+
+        assertTrue(statements <= MAX_STATEMENTS, "POST /api/fees for " + SUBJECTS + " subjects ran " + statements + " statements");
+    }
+
+    @Test
+    void classFeesAreCreatedInOneTransaction() throws Exception {
+        String body = "{\"subjectIds\": " + ids() + ", \"totalAmount\": 500, \"academicYear\": \"FEE-2025\"}";
+
+        statistics().clear();
+        mockMvc.perform(post("/api/fees/class/" + CLASS_NAME).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.students").value(STUDENTS))
+                .andExpect(jsonPath("$.feesCreated").value(STUDENTS * SUBJECTS))
+                .andExpect(jsonPath("$.totalAmountDue").value(STUDENTS * 500.0));
+        long statements = statistics().getPrepareStatementCount();
+
+        assertEquals(STUDENTS * SUBJECTS, feeRepository.findByAcademicYear("FEE-2025").size());
+        // Besides the fixed lookups, one sequence call and one insert batch per BATCH_SIZE fees
+        assertTrue(statements <= MAX_STATEMENTS + 2 * STUDENTS * SUBJECTS / BATCH_SIZE, "Class fees for " + STUDENTS + " students ran " + statements + " statements");
+    }
+
+    @Test
+    void unknownSubjectCreatesNothing() throws Exception {
+        String body = "{\"subjectIds\": [" + subjectIds.get(0) + ", 987654321], \"totalAmount\": 500, \"academicYear\": \"FEE-NONE\"}";
+
+        mockMvc.perform(post("/api/fees/class/" + CLASS_NAME).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+        assertEquals(0, feeRepository.findByAcademicYear("FEE-NONE").size());
+    }
+
+    private String ids() {
+        return subjectIds.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
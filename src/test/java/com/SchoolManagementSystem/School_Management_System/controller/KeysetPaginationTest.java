@@ -0,0 +1,83 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.util.KeysetPagination;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Following the next-page cursor from the first page to the last returns every row of the
+ * unpaged list exactly once, in the requested order, and only the last page has no cursor.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class KeysetPaginationTest {
+
+    private static final int LIMIT = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void cursorWalkReturnsEveryRowOnceInDescendingOrder() throws Exception {
+        for (int i = 0; i < 3 * LIMIT + 1; i++) {
+            fixtures.subject("Paged " + i, "PAGE-" + i);
+        }
+        List<Long> expected = ids(mockMvc.perform(get("/api/subjects")).andExpect(status().isOk()).andReturn().getResponse());
+        expected.sort(Comparator.reverseOrder());
+
+        List<Long> walked = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            String url = "/api/subjects?sort=desc&limit=" + LIMIT + (cursor != null ? "&after=" + cursor : "");
+            MockHttpServletResponse response = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse();
+            List<Long> page = ids(response);
+            pages++;
+            walked.addAll(page);
+
+            String next = response.getHeader(KeysetPagination.NEXT_CURSOR_HEADER);
+            if (next == null) {
+                assertNull(response.getHeader(HttpHeaders.LINK), "Last page has a Link header");
+                assertTrue(page.size() <= LIMIT);
+                cursor = null;
+            } else {
+                assertEquals(LIMIT, page.size());
+                cursor = Long.valueOf(next);
+                assertEquals(page.get(page.size() - 1), cursor);
+                assertEquals("<http://localhost/api/subjects?sort=desc&after=" + cursor + "&limit=" + LIMIT + ">; rel=\"next\"",
+                        response.getHeader(HttpHeaders.LINK));
+            }
+        } while (cursor != null);
+
+        assertEquals(walked.size(), new HashSet<>(walked).size(), "A row was returned twice");
+        assertEquals(expected, walked);
+        assertEquals((expected.size() + LIMIT - 1) / LIMIT, pages);
+    }
+
+    private static List<Long> ids(MockHttpServletResponse response) throws Exception {
+        List<Number> ids = JsonPath.read(response.getContentAsString(), "$[*].id");
+        return new ArrayList<>(ids.stream().map(Number::longValue).toList());
+    }
+}
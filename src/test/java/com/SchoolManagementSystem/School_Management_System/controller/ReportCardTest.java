@@ -0,0 +1,135 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance.AttendanceStatus;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The report card must aggregate exams, attendance and fees per subject correctly, check that
+ * the student exists, and do all of it in a single SQL statement.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "TEACHER")
+class ReportCardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reportCardAggregatesEverySubjectInOneStatement() throws Exception {
+        Subject art = fixtures.subject("RC Art", "RC-ART");
+        Subject math = fixtures.subject("RC Math", "RC-MATH");
+        Subject physics = fixtures.subject("RC Physics", "RC-PHYS");
+        Long studentId = transactionTemplate.execute(status -> {
+            Student student = fixtures.student("Report Card", "report.card@school.com", "RC-CLASS", art, math, physics);
+
+            exam(student, math, 100, 80);
+            exam(student, math, 100, 40);
+            exam(student, physics, 50, 30);
+            exam(student, physics, 50, null);
+            attendance(student, math, 1, AttendanceStatus.PRESENT);
+            attendance(student, math, 2, AttendanceStatus.PRESENT);
+            attendance(student, math, 3, AttendanceStatus.ABSENT);
+            attendance(student, physics, 1, AttendanceStatus.ABSENT);
+            fee(student, math, 100.0, 40.0);
+            fee(student, physics, 50.0, 50.0);
+            // A cancelled fee counts towards none of the fee figures
+            Fee cancelled = fee(student, math, "INV-RC-CANCELLED", 200.0, 80.0);
+            cancelled.setStatus("CANCELLED");
+            feeRepository.save(cancelled);
+            return student.getId();
+        });
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/students/" + studentId + "/report-card"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.class").value("RC-CLASS"))
+                .andExpect(jsonPath("$.exams").value(4))
+                .andExpect(jsonPath("$.averagePercentage").value(60.0))
+                .andExpect(jsonPath("$.passed").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.present").value(2))
+                .andExpect(jsonPath("$.absent").value(2))
+                .andExpect(jsonPath("$.attendanceRate").value(50.0))
+                .andExpect(jsonPath("$.outstandingBalance").value(60.0))
+                .andExpect(jsonPath("$.subjects.length()").value(3))
+                .andExpect(jsonPath("$.subjects[0].code").value("RC-ART"))
+                .andExpect(jsonPath("$.subjects[0].averagePercentage").doesNotExist())
+                .andExpect(jsonPath("$.subjects[1].code").value("RC-MATH"))
+                .andExpect(jsonPath("$.subjects[1].passed").value(1))
+                .andExpect(jsonPath("$.subjects[1].failed").value(1))
+                .andExpect(jsonPath("$.subjects[1].amountDue").value(100.0))
+                .andExpect(jsonPath("$.subjects[1].amountPaid").value(40.0))
+                .andExpect(jsonPath("$.subjects[1].outstandingBalance").value(60.0))
+                .andExpect(jsonPath("$.subjects[2].exams").value(2))
+                .andExpect(jsonPath("$.subjects[2].averagePercentage").value(60.0))
+                .andExpect(jsonPath("$.subjects[2].attendanceRate").value(0.0))
+                .andExpect(jsonPath("$.subjects[2].amountPaid").value(50.0));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void studentWithoutRecordsGetsAnEmptyReportCard() throws Exception {
+        Long studentId = fixtures.student("Empty Report", "empty.report@school.com", null).getId();
+
+        mockMvc.perform(get("/api/students/" + studentId + "/report-card"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Empty Report"))
+                .andExpect(jsonPath("$.subjects.length()").value(0))
+                .andExpect(jsonPath("$.exams").value(0))
+                .andExpect(jsonPath("$.attendanceRate").doesNotExist());
+
+        mockMvc.perform(get("/api/students/987654321/report-card"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void exam(Student student, Subject subject, int totalMarks, Integer obtainedMarks) {
+        fixtures.exam(student, subject, LocalDate.of(2035, 1, 10), totalMarks, obtainedMarks);
+    }
+
+    private void attendance(Student student, Subject subject, int day, AttendanceStatus status) {
+        fixtures.attendance(student, subject, LocalDate.of(2035, 1, day), status);
+    }
+
+    private void fee(Student student, Subject subject, double amountDue, double amountPaid) {
+        fee(student, subject, "INV-RC-" + subject.getCode(), amountDue, amountPaid);
+    }
+
+    private Fee fee(Student student, Subject subject, String invoiceNumber, double amountDue, double amountPaid) {
+        Fee fee = fixtures.newFee(student, subject, invoiceNumber, amountDue, LocalDate.of(2035, 1, 15));
+        fee.setAmountPaid(amountPaid);
+        fee.setBalance(amountDue - amountPaid);
+        return feeRepository.save(fee);
+    }
+}
@@ -0,0 +1,125 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.ExamRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import com.SchoolManagementSystem.School_Management_System.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deleting students must remove their exams, attendance, fees, payments and subject links with a
+ * fixed number of statements per chunk, not one statement per child row, and must leave the
+ * cached reference data alone.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class StudentDeletionTest {
+
+    private static final String CLASS_NAME = "DEL-CLASS";
+    private static final int STUDENTS = 25;
+    private static final int CHUNK_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private ExamRepository examRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void restoreChunkSize() {
+        setDeleteChunkSize(200);
+    }
+
+    @Test
+    void classIsDeletedInChunksWithSetBasedStatements() throws Exception {
+        setDeleteChunkSize(CHUNK_SIZE);
+        Subject subject = fixtures.subject("Deletion DEL-MATH", "DEL-MATH");
+        for (int i = 0; i < STUDENTS; i++) {
+            fixtures.studentWithHistory(CLASS_NAME, "del.student" + i + "@school.com", subject);
+        }
+        Student otherClass = fixtures.studentWithHistory("DEL-OTHER", "del.other@school.com", subject);
+        subjectRepository.findByIdWithTeacher(subject.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(delete("/api/students/class/" + CLASS_NAME))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students").value(STUDENTS))
+                .andExpect(jsonPath("$.exams").value(STUDENTS * 2))
+                .andExpect(jsonPath("$.attendance").value(STUDENTS * 3))
+                .andExpect(jsonPath("$.fees").value(STUDENTS));
+        long statements = statistics.getPrepareStatementCount();
+
+        // 3 chunks: id page, 3 counter aggregates, 2 counter updates (ALL and the school year) and 5 deletes
+        // (incl. subject links) each, plus the final empty page and creating the school year row on first use
+        int chunks = (STUDENTS + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        assertTrue(statements <= chunks * 11L + 3, "Class delete ran " + statements + " statements");
+        assertEquals(List.of(), studentRepository.findIdsByClassName(CLASS_NAME, Limit.unlimited()));
+        assertEquals(1, studentRepository.findIdsByClassName("DEL-OTHER", Limit.unlimited()).size());
+        assertEquals(2, examRepository.findByStudent(otherClass).size());
+        assertEquals(2L, countRows("SELECT COUNT(*) FROM exams WHERE subject_id = " + subject.getId()));
+        assertEquals(3L, countRows("SELECT COUNT(*) FROM attendance WHERE subject_id = " + subject.getId()));
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM fee_payments"));
+        assertEquals(1L, countRows("SELECT COUNT(*) FROM student_subjects WHERE subject_id = " + subject.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Subject.class, subject.getId()),
+                "Deleting students must not evict cached subjects");
+    }
+
+    @Test
+    void singleStudentIsDeletedWithItsHistory() throws Exception {
+        Subject subject = fixtures.subject("Deletion DEL-ONE", "DEL-ONE");
+        Student student = fixtures.studentWithHistory("DEL-SINGLE", "del.single@school.com", subject);
+
+        mockMvc.perform(delete("/api/students/" + student.getId()))
+                .andExpect(status().isNoContent());
+
+        assertTrue(studentRepository.findById(student.getId()).isEmpty());
+        assertEquals(0L, countRows("SELECT COUNT(*) FROM fees WHERE student_id = " + student.getId()));
+        assertEquals(0L, countRows("SELECT COUNT(*) FROM student_subjects WHERE student_id = " + student.getId()));
+    }
+
+    private void setDeleteChunkSize(int chunkSize) {
+        StudentService target = AopTestUtils.getTargetObject(studentService);
+        ReflectionTestUtils.setField(target, "deleteChunkSize", chunkSize);
+    }
+
+    private long countRows(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class StudentImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Subject maths;
+    private Subject science;
+
+    @BeforeEach
+    void setUp() {
+        maths = subjectRepository.findByCode("IMP-MATH").orElseGet(() -> fixtures.subject("Maths", "IMP-MATH"));
+        science = subjectRepository.findByCode("IMP-SCI").orElseGet(() -> fixtures.subject("Science", "IMP-SCI"));
+        if (!studentRepository.existsByEmail("existing.import@school.com")) {
+            fixtures.student("Existing", "existing.import@school.com", null);
+        }
+    }
+
+    @Test
+    void csvImportCreatesValidRowsAndReportsRejectedLines() throws Exception {
+        String csv = "name,email,class,address,subjectIds,dateOfBirth\r\n"
+                + "Ada Lovelace,ada.import@school.com,Grade 10,\"12 High St,\nFlat 2\"," + maths.getId() + ";" + science.getId() + ",2009-12-10\r\n"
+                + "Ada Again,ada.import@school.com,Grade 10,,,\r\n"
+                + "Already There,existing.import@school.com,Grade 10,,,\r\n"
+                + "Unknown Subject,unknown.subject.import@school.com,Grade 10,,999999,\r\n"
+                + ",no.name.import@school.com,Grade 10,,,\r\n"
+                + "Bad Date,bad.date.import@school.com,Grade 10,,,10/12/2009\r\n"
+                + "Grace Hopper,grace.import@school.com,Grade 10,,,\r\n";
+
+        mockMvc.perform(post("/api/students/import").contentType("text/csv").content(csv))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.processed").value(7))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors", hasSize(5)))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].error", containsString("Duplicate email ada.import@school.com (already imported from line 2)")))
+                .andExpect(jsonPath("$.errors[1].error").value("Student with email existing.import@school.com already exists"))
+                .andExpect(jsonPath("$.errors[2].error").value("Subject not found with id: 999999"))
+                .andExpect(jsonPath("$.errors[3].error").value("Name is required"))
+                .andExpect(jsonPath("$.errors[4].line").value(8))
+                .andExpect(jsonPath("$.errors[4].error", containsString("Invalid dateOfBirth")));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Student ada = studentRepository.findByEmail("ada.import@school.com").orElseThrow();
+            assertEquals("12 High St,\nFlat 2", ada.getAddress());
+            assertEquals(List.of("IMP-MATH", "IMP-SCI"), ada.getSubjects().stream().map(Subject::getCode).sorted().toList());
+        });
+    }
+
+    @Test
+    void ndjsonImportReportsMalformedLines() throws Exception {
+        String ndjson = "{\"name\":\"Alan Turing\",\"email\":\"alan.import@school.com\",\"class\":\"Grade 11\",\"subjectIds\":[" + maths.getId() + "]}\n"
+                + "\n"
+                + "{\"name\":\"Broken\",\"email\":\n"
+                + "{\"name\":\"No Email\"}\n"
+                + "null\n";
+
+        mockMvc.perform(post("/api/students/import").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.processed").value(4))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error", containsString("Invalid JSON")))
+                .andExpect(jsonPath("$.errors[1].index").value(2))
+                .andExpect(jsonPath("$.errors[1].error").value("Email is required"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].error").value("Expected a JSON object"));
+
+        assertEquals("Grade 11", studentRepository.findByEmail("alan.import@school.com").orElseThrow().getClassName());
+    }
+}
@@ -0,0 +1,92 @@
+package com.SchoolManagementSystem.School_Management_System.controller;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Regression guard: listing students, including the JSON serialization of their subjects, must cost
+ * the same number of SQL statements however many students there are. The exams, attendance and fees
+ * seeded here are left out of list responses, so they must not be read at all.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.SchoolManagementSystem.School_Management_System.controller.StudentListQueryCountTest$StatementCounter")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class StudentListQueryCountTest {
+
+    private static final int MAX_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void studentListStatementCountDoesNotGrowWithStudents() throws Exception {
+        Subject subject = createSubject();
+
+        createStudents(subject, 0, 5);
+        int fewStudents = countStatements("/api/students");
+        int fewStudentsPage = countStatements("/api/students?limit=50");
+        int fewStudentsClass = countStatements("/api/students/class/Grade 1");
+
+        createStudents(subject, 5, 60);
+        int manyStudents = countStatements("/api/students");
+        int manyStudentsPage = countStatements("/api/students?limit=50");
+        int manyStudentsClass = countStatements("/api/students/class/Grade 1");
+
+        assertEquals(fewStudents, manyStudents);
+        assertEquals(fewStudentsPage, manyStudentsPage);
+        assertEquals(fewStudentsClass, manyStudentsClass);
+        assertTrue(manyStudents <= MAX_STATEMENTS, "GET /api/students ran " + manyStudents + " statements");
+        assertTrue(manyStudentsPage <= MAX_STATEMENTS + 1, "Paged list ran " + manyStudentsPage + " statements");
+        assertTrue(manyStudentsClass <= MAX_STATEMENTS, "Class list ran " + manyStudentsClass + " statements");
+    }
+
+    private int countStatements(String url) throws Exception {
+        StatementCounter.COUNT.set(0);
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return StatementCounter.COUNT.get();
+    }
+
+    private Subject createSubject() {
+        return fixtures.subject("Mathematics", "MATH101", fixtures.teacher("Teacher", "teacher@school.com"));
+    }
+
+    private void createStudents(Subject subject, int from, int to) {
+        LocalDate date = LocalDate.of(2025, 1, 15);
+        for (int i = from; i < to; i++) {
+            Student student = fixtures.student("Student " + i, "student" + i + "@school.com", "Grade 1", subject);
+            fixtures.exam(student, subject, date, 100, 70);
+            fixtures.attendance(student, subject, date, Attendance.AttendanceStatus.PRESENT);
+            fixtures.fee(student, subject, "INV-20250115-" + String.format("%04d", i + 1), 100.0, date);
+        }
+    }
+
+    public static class StatementCounter implements StatementInspector {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.incrementAndGet();
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.SchoolManagementSystem.School_Management_System.repository;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.dto.FeeRow;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The fee filter queries against the database: each supplied filter narrows the result, null
+ * filters are ignored, and the list and export variants return the same fees. Every fee here
+ * has its own classes, academic years and terms, so fees written by other tests never match.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeeRepositoryTest {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long discountPaid;
+    private Long fullPending;
+    private Long discountPending;
+    private Long freePaid;
+
+    @BeforeAll
+    void seed() {
+        Subject subject = fixtures.subject("Filtered Fees", "FRT-MATH");
+        Student first = fixtures.student("Filter First", "filter.first@school.com", "FRT-A");
+        Student second = fixtures.student("Filter Second", "filter.second@school.com", "FRT-B");
+        discountPaid = fee(first, subject, "FRT-1", "DISCOUNT", "FRT-2025", "FRT-T1", "PAID");
+        fullPending = fee(first, subject, "FRT-2", "FULL_PAYMENT", "FRT-2025", "FRT-T2", "PENDING");
+        discountPending = fee(second, subject, "FRT-3", "DISCOUNT", "FRT-2025", "FRT-T1", "PENDING");
+        freePaid = fee(second, subject, "FRT-4", "FREE", "FRT-2026", "FRT-T1", "PAID");
+    }
+
+    @Test
+    void compositeFilterAppliesEverySuppliedFilter() {
+        assertEquals(List.of(discountPaid, fullPending), ids(feeRepository.findByFilters(null, "FRT-A", null, null, null)));
+        assertEquals(List.of(discountPaid, discountPending), ids(feeRepository.findByFilters("DISCOUNT", null, "FRT-2025", null, null)));
+        assertEquals(List.of(discountPending), ids(feeRepository.findByFilters(null, null, "FRT-2025", "FRT-T1", "PENDING")));
+        assertEquals(List.of(freePaid), ids(feeRepository.findByFilters("FREE", "FRT-B", "FRT-2026", "FRT-T1", "PAID")));
+        assertEquals(List.of(), ids(feeRepository.findByFilters("FREE", "FRT-A", null, null, null)));
+    }
+
+    @Test
+    void filteredFeesComeWithStudentAndSubject() {
+        List<Fee> fees = feeRepository.findByFilters(null, "FRT-B", null, null, null);
+
+        assertEquals(2, fees.size());
+        assertTrue(fees.stream().allMatch(fee -> Hibernate.isInitialized(fee.getStudent()) && Hibernate.isInitialized(fee.getSubject())));
+        assertEquals("FRT-B", fees.get(0).getStudent().getClassName());
+        assertEquals("FRT-MATH", fees.get(0).getSubject().getCode());
+    }
+
+    @Test
+    void singleColumnFiltersMatchOnlyThatColumn() {
+        assertEquals(List.of(discountPending, freePaid), ids(feeRepository.findByStudentClassName("FRT-B")));
+        assertEquals(List.of(freePaid), ids(feeRepository.findByAcademicYear("FRT-2026")));
+        assertEquals(List.of(discountPaid, discountPending, freePaid), ids(feeRepository.findByTerm("FRT-T1")));
+        assertTrue(ids(feeRepository.findByCategory("FREE")).contains(freePaid));
+        assertTrue(feeRepository.findByCategory("FREE").stream().allMatch(fee -> "FREE".equals(fee.getCategory())));
+    }
+
+    @Test
+    void rowQueriesReturnTheSameFeesAsTheEntityQuery() {
+        List<FeeRow> rows = feeRepository.findRowsByFilters(null, null, "FRT-2025", null, null,
+                Long.MIN_VALUE, Long.MAX_VALUE, BY_ID, Limit.unlimited());
+        assertEquals(List.of(discountPaid, fullPending, discountPending), rows.stream().map(FeeRow::id).toList());
+        assertEquals("FRT-A", rows.get(0).student().className());
+
+        List<Long> streamed = transactionTemplate.execute(status -> {
+            try (Stream<FeeRow> stream = feeRepository.streamRowsByFilters(null, null, "FRT-2025", null, null)) {
+                return stream.map(FeeRow::id).toList();
+            }
+        });
+        assertEquals(List.of(discountPaid, fullPending, discountPending), streamed);
+    }
+
+    @Test
+    void rowQueryPagesWithinTheIdBounds() {
+        Sort descending = Sort.by(Sort.Direction.DESC, "id");
+
+        List<FeeRow> firstPage = feeRepository.findRowsByFilters(null, null, null, "FRT-T1", null,
+                Long.MIN_VALUE, Long.MAX_VALUE, descending, Limit.of(2));
+        List<FeeRow> secondPage = feeRepository.findRowsByFilters(null, null, null, "FRT-T1", null,
+                Long.MIN_VALUE, firstPage.get(1).id(), descending, Limit.of(2));
+
+        assertEquals(List.of(freePaid, discountPending), firstPage.stream().map(FeeRow::id).toList());
+        assertEquals(List.of(discountPaid), secondPage.stream().map(FeeRow::id).toList());
+    }
+
+    private Long fee(Student student, Subject subject, String invoiceNumber, String category, String academicYear,
+                     String term, String status) {
+        Fee fee = fixtures.newFee(student, subject, invoiceNumber, 100.0, LocalDate.of(2025, 1, 15));
+        fee.setCategory(category);
+        fee.setAcademicYear(academicYear);
+        fee.setTerm(term);
+        fee.setStatus(status);
+        return feeRepository.save(fee).getId();
+    }
+
+    private static List<Long> ids(List<Fee> fees) {
+        return fees.stream().map(Fee::getId).sorted().toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.SchoolManagementSystem.School_Management_System.security;
+
+import com.SchoolManagementSystem.School_Management_System.util.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A cached token must never outlive its expiration or stand in for a different token, and a
+ * full cache must keep serving the tokens it holds instead of starting over.
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10);
+        String token = jwtUtil.generateToken("alice", "ADMIN");
+
+        assertEquals("alice", cache.verify(token).username());
+        assertEquals("ADMIN", cache.verify(token).role());
+
+        verify(jwtUtil, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void expiredTokenIsEvictedAndRejected() throws InterruptedException {
+        // JWT expirations have whole-second precision, so allow more than a second before and after
+        JwtUtil jwtUtil = jwtUtil(2_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10);
+        String token = jwtUtil.generateToken("alice", "ADMIN");
+        cache.verify(token);
+        assertEquals(1, cache.size());
+
+        Thread.sleep(2_500);
+
+        assertEquals(0, cache.size());
+        assertThrows(ExpiredJwtException.class, () -> cache.verify(token));
+    }
+
+    @Test
+    void tamperedTokenMissesTheCache() {
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10);
+        String[] alice = jwtUtil.generateToken("alice", "STUDENT").split("\\.");
+        String[] mallory = jwtUtil.generateToken("mallory", "ADMIN").split("\\.");
+        cache.verify(String.join(".", alice));
+        clearInvocations(jwtUtil);
+
+        // Alice's signature on Mallory's claims
+        String forged = mallory[0] + "." + mallory[1] + "." + alice[2];
+
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+        verify(jwtUtil, times(1)).parseClaims(forged);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fullCacheEvictsSomeEntriesInsteadOfAll() {
+        int maxSize = 10;
+        JwtUtil jwtUtil = jwtUtil(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, maxSize);
+        String[] tokens = new String[maxSize];
+        for (int i = 0; i < maxSize; i++) {
+            tokens[i] = jwtUtil.generateToken("user" + i, "TEACHER");
+            cache.verify(tokens[i]);
+        }
+
+        cache.verify(jwtUtil.generateToken("one.more", "TEACHER"));
+        assertEquals(maxSize, cache.size());
+
+        clearInvocations(jwtUtil);
+        for (String token : tokens) {
+            cache.verify(token);
+        }
+        // Most of the earlier tokens are still served without being verified again
+        verify(jwtUtil, atMost(maxSize / 2)).parseClaims(anyString());
+        assertEquals(maxSize, cache.size());
+    }
+
+    private static JwtUtil jwtUtil(long expirationMillis) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expirationMillis);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return spy(jwtUtil);
+    }
+}
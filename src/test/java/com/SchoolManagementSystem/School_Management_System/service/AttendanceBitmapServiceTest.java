@@ -0,0 +1,127 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceBitmapMigration;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRate;
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.BulkAttendanceRequest.StudentAttendanceData;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.AttendanceBitmap;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.AttendanceBitmapRepository;
+import com.SchoolManagementSystem.School_Management_System.util.DayBitmap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The bitmap store must give the same rates as the attendance table, whether it is kept in step
+ * by the attendance writes or rebuilt from the table by the migration.
+ */
+@SpringBootTest
+class AttendanceBitmapServiceTest {
+
+    private static final String CLASS_NAME = "BIT-CLASS";
+    private static final LocalDate FROM = LocalDate.of(2034, 8, 1);
+    private static final LocalDate TO = LocalDate.of(2034, 9, 30);
+
+    @Autowired
+    private AttendanceBitmapService bitmapService;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceBitmapRepository bitmapRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void disableMirroring() {
+        setEnabled(false);
+    }
+
+    @Test
+    void countsDaysAcrossByteBoundaries() {
+        byte[] bits = new byte[0];
+        for (int day : new int[] {0, 7, 8, 15, 16, 365}) {
+            bits = DayBitmap.with(bits, day, true);
+        }
+        assertEquals(AttendanceBitmap.BYTES, bits.length);
+        assertEquals(6, DayBitmap.count(bits, 0, 365));
+        assertEquals(4, DayBitmap.count(bits, 7, 16));
+        assertEquals(2, DayBitmap.count(bits, 8, 15));
+        assertEquals(0, DayBitmap.count(bits, 1, 6));
+        assertEquals(0, DayBitmap.count(new byte[1], 0, 365));
+        assertEquals(5, DayBitmap.count(DayBitmap.with(bits, 365, false), 0, 365));
+    }
+
+    @Test
+    void mirroredWritesAndMigrationMatchTheAttendanceTable() {
+        setEnabled(true);
+        Subject subject = createSubject("BIT-MATH");
+        Student first = createStudent("bit.first@school.com");
+        Student second = createStudent("bit.second@school.com");
+
+        // 2034-08-31 and 2034-09-01 fall into different school years, so into different bitmaps
+        rollCall(subject, "2034-08-31", first, "PRESENT", second, "ABSENT");
+        rollCall(subject, "2034-09-01", first, "PRESENT", second, "PRESENT");
+        rollCall(subject, "2034-09-02", first, "ABSENT", second, "PRESENT");
+        Attendance corrected = attendanceService.createAttendance(new AttendanceRequest(
+                second.getId(), subject.getId(), LocalDate.of(2034, 9, 3), Attendance.AttendanceStatus.ABSENT));
+        attendanceService.updateAttendance(corrected.getId(), new AttendanceRequest(
+                second.getId(), subject.getId(), LocalDate.of(2034, 9, 3), Attendance.AttendanceStatus.PRESENT));
+        Attendance removed = attendanceService.createAttendance(new AttendanceRequest(
+                first.getId(), subject.getId(), LocalDate.of(2034, 9, 4), Attendance.AttendanceStatus.ABSENT));
+        attendanceService.deleteAttendance(removed.getId());
+
+        // Table: first 2 present / 1 absent, second 3 present / 1 absent
+        assertRate(2, 1, bitmapService.getStudentRate(first.getId(), null, FROM, TO));
+        assertRate(3, 1, bitmapService.getStudentRate(second.getId(), subject.getId(), FROM, TO));
+        assertRate(5, 2, bitmapService.getClassRate(CLASS_NAME, null, FROM, TO));
+        assertRate(4, 1, bitmapService.getClassRate(CLASS_NAME, null, LocalDate.of(2034, 9, 1), TO));
+        LocalDate firstYear = bitmapService.yearStart(FROM);
+        assertEquals(LocalDate.of(2033, 9, 1), firstYear);
+        assertEquals(4, bitmapRepository.findByClass(CLASS_NAME, null, firstYear, bitmapService.yearStart(TO)).size());
+        assertEquals(2, bitmapRepository.findByClass(CLASS_NAME, null, firstYear, firstYear).size());
+
+        AttendanceBitmapMigration migration = bitmapService.migrate();
+
+        assertEquals(migration.bitmaps(), bitmapRepository.count());
+        assertRate(5, 2, bitmapService.getClassRate(CLASS_NAME, subject.getId(), FROM, TO));
+        assertRate(2, 1, bitmapService.getStudentRate(first.getId(), subject.getId(), FROM, TO));
+    }
+
+    private void rollCall(Subject subject, String date, Student first, String firstStatus, Student second, String secondStatus) {
+        attendanceService.createBulkAttendance(new BulkAttendanceRequest(subject.getId(), List.of(
+                new StudentAttendanceData(first.getId(), firstStatus),
+                new StudentAttendanceData(second.getId(), secondStatus)), date));
+    }
+
+    private static void assertRate(long present, long absent, AttendanceRate rate) {
+        assertEquals(present, rate.present());
+        assertEquals(absent, rate.absent());
+        assertEquals((double) present / (present + absent) * 100, rate.rate(), 1e-9);
+    }
+
+    private void setEnabled(boolean enabled) {
+        AttendanceBitmapService target = AopTestUtils.getTargetObject(bitmapService);
+        ReflectionTestUtils.setField(target, "enabled", enabled);
+    }
+
+    private Subject createSubject(String code) {
+        return fixtures.subject("Bitmaps " + code, code);
+    }
+
+    private Student createStudent(String email) {
+        return fixtures.student(email, email, CLASS_NAME);
+    }
+}
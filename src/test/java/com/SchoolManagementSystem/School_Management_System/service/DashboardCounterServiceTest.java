@@ -0,0 +1,123 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.AttendanceRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.ExamRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.FeeRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.SubjectRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
+import com.SchoolManagementSystem.School_Management_System.model.Attendance;
+import com.SchoolManagementSystem.School_Management_System.model.DashboardCounter;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import com.SchoolManagementSystem.School_Management_System.repository.DashboardCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counters maintained by the write services stay equal to a full recount, and reconcile
+ * repairs drift. Other tests seed rows through the repositories, so each test starts by
+ * reconciling to get a clean baseline.
+ */
+@SpringBootTest
+class DashboardCounterServiceTest {
+
+    // March 2037 belongs to the 2036-2037 school year, which no other test writes to
+    private static final LocalDate DATE = LocalDate.of(2037, 3, 10);
+    private static final String SCOPE = "2036-2037";
+    private static final String DRIFT_SCOPE = "2038-2039";
+
+    @Autowired
+    private DashboardCounterService counterService;
+    @Autowired
+    private DashboardCounterRepository counterRepository;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private ExamService examService;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private FeeService feeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private DashboardCounter before;
+
+    @BeforeEach
+    void setUp() {
+        counterService.reconcile();
+        before = counterService.getCounter(DashboardCounter.ALL_SCOPE);
+    }
+
+    @Test
+    void createAndDeleteKeepCountersEqualToRecount() {
+        String suffix = String.valueOf(System.nanoTime());
+        Teacher teacher = teacherService.createTeacher(new TeacherRequest("Counter Teacher", "counter." + suffix + "@school.com", null, null));
+        Subject algebra = subjectService.createSubject(new SubjectRequest("Algebra", "CNT-A-" + suffix, null, teacher.getId(), 0.0));
+        Subject geometry = subjectService.createSubject(new SubjectRequest("Geometry", "CNT-G-" + suffix, null, teacher.getId(), 0.0));
+        Student student = studentService.createStudent(new StudentRequest("Counter Student", "counter.student." + suffix + "@school.com",
+                null, null, null, null, "Counter-" + suffix, null, null, 0.0, null));
+        examService.createExam(new ExamRequest(algebra.getId(), student.getId(), DATE, 100, 80));
+        examService.createExam(new ExamRequest(geometry.getId(), student.getId(), DATE, 100, 20));
+        attendanceService.createAttendance(new AttendanceRequest(student.getId(), algebra.getId(), DATE, Attendance.AttendanceStatus.PRESENT));
+        attendanceService.createAttendance(new AttendanceRequest(student.getId(), geometry.getId(), DATE, Attendance.AttendanceStatus.ABSENT));
+        feeService.createSingleFee(new FeeRequest(student.getId(), List.of(algebra.getId()), 300.0, "percentage", 0.0, 0.0, DATE, null, null));
+
+        DashboardCounter all = counterService.getCounter(DashboardCounter.ALL_SCOPE);
+        assertEquals(before.getTotalStudents() + 1, all.getTotalStudents());
+        assertEquals(before.getTotalTeachers() + 1, all.getTotalTeachers());
+        assertEquals(before.getTotalSubjects() + 2, all.getTotalSubjects());
+        DashboardCounter year = counterService.getCounter(SCOPE);
+        assertEquals(1, year.getPassedExams());
+        assertEquals(1, year.getFailedExams());
+        assertEquals(1, year.getPresentCount());
+        assertEquals(1, year.getAbsentCount());
+        assertEquals(300.0, year.getFeesCollected(), 0.001);
+        assertEquals(DashboardCounter.SLOTS, counterRepository.findByScope(SCOPE).size());
+        assertEquals(List.of(), counterService.reconcile());
+
+        // Deleting the teacher cascades to both subjects and everything recorded against them
+        teacherService.deleteTeacher(teacher.getId());
+        assertEquals(List.of(), counterService.reconcile());
+        assertTrue(counterRepository.findByScope(SCOPE).isEmpty());
+        studentService.deleteStudent(student.getId());
+        assertEquals(List.of(), counterService.reconcile());
+
+        all = counterService.getCounter(DashboardCounter.ALL_SCOPE);
+        assertEquals(before.getTotalStudents(), all.getTotalStudents());
+        assertEquals(before.getTotalTeachers(), all.getTotalTeachers());
+        assertEquals(before.getTotalSubjects(), all.getTotalSubjects());
+    }
+
+    @Test
+    void reconcileRepairsDrift() {
+        transactionTemplate.executeWithoutResult(status -> {
+            counterRepository.insertIfAbsent(DashboardCounter.ALL_SCOPE);
+            counterRepository.increment(DashboardCounter.ALL_SCOPE, 3, 5, 0, 0, 0, 0, 0, 0, 0);
+            counterRepository.insertIfAbsent(DRIFT_SCOPE);
+            counterRepository.increment(DRIFT_SCOPE, 5, 0, 0, 0, 2, 0, 0, 0, 0);
+        });
+
+        List<String> drifted = counterService.reconcile();
+
+        assertEquals(List.of(DRIFT_SCOPE, DashboardCounter.ALL_SCOPE), drifted.stream().sorted().toList());
+        assertEquals(before.getTotalStudents(), counterService.getCounter(DashboardCounter.ALL_SCOPE).getTotalStudents());
+        assertTrue(counterRepository.findByScope(DRIFT_SCOPE).isEmpty());
+        assertEquals(List.of(), counterService.reconcile());
+    }
+}
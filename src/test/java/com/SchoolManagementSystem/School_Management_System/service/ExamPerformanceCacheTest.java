@@ -0,0 +1,105 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.dto.ExamPerformancePoint;
+import com.SchoolManagementSystem.School_Management_System.dto.StudentRequest;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chart results must never outlive the data they were computed from: a result computed before an
+ * eviction is not stored after it, entries expire, a full cache only drops some entries, and a
+ * student changing class evicts the charts of both classes.
+ */
+@SpringBootTest
+class ExamPerformanceCacheTest {
+
+    // May 2042 is not used by any other test
+    private static final LocalDate EXAM_DATE = LocalDate.of(2042, 5, 12);
+    private static final List<ExamPerformancePoint> POINTS = List.of(new ExamPerformancePoint("2042-05", 1, 0));
+
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void resultComputedBeforeAnEvictionIsNotStored() {
+        ExamPerformanceCache cache = new ExamPerformanceCache(Duration.ofMinutes(10));
+        ExamPerformanceCache.Key key = key(null);
+
+        long generation = cache.generation();
+        cache.evictMonth(EXAM_DATE);
+        cache.put(key, POINTS, generation);
+        assertNull(cache.get(key));
+
+        cache.put(key, POINTS, cache.generation());
+        assertEquals(POINTS, cache.get(key));
+    }
+
+    @Test
+    void entriesExpire() throws InterruptedException {
+        ExamPerformanceCache cache = new ExamPerformanceCache(Duration.ofMillis(50));
+        cache.put(key(null), POINTS, cache.generation());
+
+        Thread.sleep(200);
+
+        assertNull(cache.get(key(null)));
+    }
+
+    @Test
+    void fullCacheKeepsMostEntries() {
+        ExamPerformanceCache cache = new ExamPerformanceCache(Duration.ofMinutes(10));
+        int puts = 300;
+        for (int i = 0; i < puts; i++) {
+            cache.put(key("Class " + i), POINTS, cache.generation());
+        }
+
+        int cached = 0;
+        for (int i = 0; i < puts; i++) {
+            if (cache.get(key("Class " + i)) != null) {
+                cached++;
+            }
+        }
+        assertTrue(cached >= puts / 2, "Only " + cached + " of " + puts + " entries survived");
+    }
+
+    @Test
+    void classChangeEvictsChartsOfBothClasses() {
+        Subject subject = fixtures.subject("Charts", "EPC-MATH");
+        Student student = fixtures.student("Chart Student", "chart.student@school.com", "EPC-A", subject);
+        fixtures.exam(student, subject, EXAM_DATE, 100, 80);
+
+        assertEquals(1, passed("EPC-A"));
+        assertEquals(0, passed("EPC-B"));
+
+        studentService.updateStudent(student.getId(), new StudentRequest("Chart Student", "chart.student@school.com",
+                null, null, null, null, "EPC-B", null, null, 0.0, null));
+
+        assertEquals(0, passed("EPC-A"));
+        assertEquals(1, passed("EPC-B"));
+    }
+
+    private long passed(String className) {
+        return dashboardService.getExamPerformance(EXAM_DATE, EXAM_DATE, null, className).stream()
+                .mapToLong(ExamPerformancePoint::getPassed)
+                .sum();
+    }
+
+    private static ExamPerformanceCache.Key key(String className) {
+        return new ExamPerformanceCache.Key(EXAM_DATE, EXAM_DATE, null, className);
+    }
+}
@@ -0,0 +1,143 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.dto.FeeUpdateRequest;
+import com.SchoolManagementSystem.School_Management_System.exception.ValidationException;
+import com.SchoolManagementSystem.School_Management_System.model.Fee;
+import com.SchoolManagementSystem.School_Management_System.model.FeePayment;
+import com.SchoolManagementSystem.School_Management_System.model.Student;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.repository.FeePaymentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Stress test for concurrent payments on a single fee: every accepted payment must show up in
+ * amountPaid and in the ledger, and no interleaving may take the fee past its amount due. Editing
+ * amountPaid directly must keep the ledger summing to it as well.
+ */
+@SpringBootTest
+class FeePaymentConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private FeeService feeService;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private FeePaymentRepository feePaymentRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentPaymentsAreNeverLost() throws Exception {
+        int payments = 2000;
+        Fee fee = createFee("PAY-LOST", 1_000_000.0);
+
+        AtomicInteger rejected = postConcurrently(fee.getId(), payments);
+
+        Fee result = feeRepository.findById(fee.getId()).orElseThrow();
+        List<FeePayment> ledger = feePaymentRepository.findByFeeIdOrderByIdAsc(fee.getId());
+        assertEquals(0, rejected.get());
+        assertEquals(payments, result.getAmountPaid());
+        assertEquals(1_000_000.0 - payments, result.getBalance());
+        assertEquals("PARTIAL", result.getStatus());
+        assertEquals(payments, ledger.size());
+    }
+
+    @Test
+    void concurrentPaymentsNeverExceedAmountDue() throws Exception {
+        int payments = 400;
+        Fee fee = createFee("PAY-CAP", 100.0);
+
+        AtomicInteger rejected = postConcurrently(fee.getId(), payments);
+
+        Fee result = feeRepository.findById(fee.getId()).orElseThrow();
+        assertEquals(payments - 100, rejected.get());
+        assertEquals(100.0, result.getAmountPaid());
+        assertEquals(0.0, result.getBalance());
+        assertEquals("PAID", result.getStatus());
+        assertEquals(100, feePaymentRepository.findByFeeIdOrderByIdAsc(fee.getId()).size());
+    }
+
+    @Test
+    void editingAmountPaidRecordsAnAdjustmentInTheLedger() {
+        Fee fee = createFee("PAY-EDIT", 100.0);
+        feeService.addPayment(fee.getId(), 30.0);
+        feeService.addPayment(fee.getId(), 20.0);
+
+        Fee edited = feeService.updateFee(fee.getId(), amountPaid(40.0));
+
+        List<FeePayment> ledger = feePaymentRepository.findByFeeIdOrderByIdAsc(fee.getId());
+        assertEquals(List.of(30.0, 20.0, -10.0), ledger.stream().map(FeePayment::getAmount).toList());
+        assertEquals(edited.getAmountPaid(), ledger.stream().mapToDouble(FeePayment::getAmount).sum());
+        assertEquals(60.0, edited.getBalance());
+
+        edited = feeService.updateFee(fee.getId(), amountPaid(100.0));
+        assertEquals("PAID", edited.getStatus());
+        assertEquals(100.0, feePaymentRepository.findByFeeIdOrderByIdAsc(fee.getId()).stream()
+                .mapToDouble(FeePayment::getAmount).sum());
+
+        assertThrows(ValidationException.class, () -> feeService.updateFee(fee.getId(), amountPaid(150.0)));
+        assertEquals(100.0, feeRepository.findById(fee.getId()).orElseThrow().getAmountPaid());
+        assertEquals(4, feePaymentRepository.findByFeeIdOrderByIdAsc(fee.getId()).size());
+    }
+
+    private static FeeUpdateRequest amountPaid(double amountPaid) {
+        FeeUpdateRequest request = new FeeUpdateRequest();
+        request.setAmountPaid(amountPaid);
+        return request;
+    }
+
+    /**
+     * Posts the given number of 1.00 payments from {@link #THREADS} threads released together,
+     * and returns how many were rejected for exceeding the amount due.
+     */
+    private AtomicInteger postConcurrently(Long feeId, int payments) throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < payments; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        feeService.addPayment(feeId, 1.0);
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return rejected;
+    }
+
+    private Fee createFee(String code, double amountDue) {
+        Subject subject = fixtures.subject("Payments " + code, code);
+        Student student = fixtures.student("Payer " + code, code.toLowerCase() + "@school.com", null);
+        return fixtures.fee(student, subject, "INV-" + code, amountDue, LocalDate.of(2025, 1, 15));
+    }
+}
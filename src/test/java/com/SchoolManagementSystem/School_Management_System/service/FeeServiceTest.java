@@ -0,0 +1,71 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.repository.FeePaymentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.StudentRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Regression guard: fee filters must be answered by dedicated queries, never by
+ * loading the whole fees table and filtering in memory.
+ */
+class FeeServiceTest {
+
+    private FeeRepository feeRepository;
+    private FeeService feeService;
+
+    @BeforeEach
+    void setUp() {
+        feeRepository = mock(FeeRepository.class);
+        feeService = new FeeService(feeRepository, mock(FeePaymentRepository.class), mock(StudentRepository.class), mock(SubjectRepository.class),
+                mock(DashboardCounterService.class), mock(InvoiceNumberGenerator.class), mock(TransactionTemplate.class));
+    }
+
+    @Test
+    void categoryFilterIsNormalizedAndNeverLoadsAllFees() {
+        feeService.getFeesByCategory("discount");
+
+        verify(feeRepository).findByCategory("DISCOUNT");
+        verify(feeRepository, never()).findAll();
+    }
+
+    @Test
+    void classYearAndTermFiltersNeverLoadAllFees() {
+        feeService.getFeesByClass("Grade 5");
+        feeService.getFeesByAcademicYear("2024-2025");
+        feeService.getFeesByTerm("Term 1");
+
+        verify(feeRepository).findByStudentClassName("Grade 5");
+        verify(feeRepository).findByAcademicYear("2024-2025");
+        verify(feeRepository).findByTerm("Term 1");
+        verify(feeRepository, never()).findAll();
+    }
+
+    @Test
+    void compositeFilterIgnoresBlankParameters() {
+        feeService.getFees("free", " ", "2024-2025", null, "PAID");
+
+        verify(feeRepository).findByFilters("FREE", null, "2024-2025", null, "PAID");
+        verify(feeRepository, never()).findAll();
+        verify(feeRepository, never()).findAll(any(Sort.class));
+    }
+
+    @Test
+    void listRowsUseTheSameFiltersWithoutPaging() {
+        feeService.getFeeRows("discount", "Grade 5", "", null, null, null);
+
+        verify(feeRepository).findRowsByFilters("DISCOUNT", "Grade 5", null, null, null,
+                Long.MIN_VALUE, Long.MAX_VALUE, Sort.by(Sort.Direction.ASC, "id"), Limit.unlimited());
+        verify(feeRepository, never()).findAll();
+    }
+}
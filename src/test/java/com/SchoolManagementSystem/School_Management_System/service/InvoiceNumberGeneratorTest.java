@@ -0,0 +1,157 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.TestFixtures;
+import com.SchoolManagementSystem.School_Management_System.repository.FeeRepository;
+import com.SchoolManagementSystem.School_Management_System.repository.InvoiceCounterRepository;
+import com.SchoolManagementSystem.School_Management_System.util.FeeCalculationUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress test for invoice numbers: several generators stand in for nodes sharing invoice_counters,
+ * and no interleaving of single and multi-number requests may hand out a number twice. Each test
+ * pins the generators to its own day so blocks reserved by the application never interfere.
+ */
+@SpringBootTest
+class InvoiceNumberGeneratorTest {
+
+    private static final int THREADS = 32;
+    private static final int BLOCK_SIZE = 5;
+
+    @Autowired
+    private InvoiceCounterRepository counterRepository;
+    @Autowired
+    private FeeRepository feeRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentRequestsAcrossNodesNeverRepeatANumber() throws Exception {
+        LocalDate day = LocalDate.of(2040, 1, 15);
+        List<InvoiceNumberGenerator> nodes = List.of(node(day), node(day), node(day));
+        int requests = 1500;
+
+        Queue<String> issued = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                InvoiceNumberGenerator node = nodes.get(i % nodes.size());
+                // Mostly single numbers, with multi-number requests that fit a block and ones that need their own
+                int count = i % 10 == 0 ? BLOCK_SIZE + 3 : i % 4 == 0 ? 3 : 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (count == 1) {
+                        issued.add(node.next());
+                    } else {
+                        issued.addAll(node.next(count));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(issued.size(), new HashSet<>(issued).size(), "An invoice number was issued twice");
+        String prefix = FeeCalculationUtil.invoicePrefix(day);
+        assertTrue(issued.stream().allMatch(number -> number.startsWith(prefix)));
+        long highest = issued.stream().mapToLong(number -> Long.parseLong(number.substring(prefix.length()))).max().orElseThrow();
+        assertTrue(counterRepository.findById(day).orElseThrow().getNextValue() > highest);
+    }
+
+    @Test
+    void firstBlockOfTheDayStartsAboveIssuedNumbers() {
+        LocalDate day = LocalDate.of(2040, 2, 20);
+        saveFee("INV-GEN-MAX", FeeCalculationUtil.generateInvoiceNumber(day, 42));
+
+        InvoiceNumberGenerator node = node(day);
+
+        assertEquals(FeeCalculationUtil.generateInvoiceNumber(day, 43), node.next());
+        assertEquals(List.of(FeeCalculationUtil.generateInvoiceNumber(day, 44), FeeCalculationUtil.generateInvoiceNumber(day, 45)),
+                node.next(2));
+    }
+
+    @Test
+    void nodeThatLosesTheFirstInsertOfTheDayRetriesOnTheExistingRow() throws Exception {
+        LocalDate day = LocalDate.of(2040, 3, 25);
+        InvoiceNumberGenerator winner = node(day);
+        List<String> winnerNumbers = new ArrayList<>();
+
+        // The winner reserves and commits the day's row while the loser sits between its lookup and its insert
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        FeeRepository racingFees = mock(FeeRepository.class);
+        when(racingFees.findMaxInvoiceSuffix(anyString())).thenAnswer(invocation -> {
+            if (winnerNumbers.isEmpty()) {
+                winnerNumbers.add(executor.submit(() -> winner.next()).get());
+            }
+            return null;
+        });
+        InvoiceNumberGenerator loser = new InvoiceNumberGenerator(counterRepository, racingFees, transactionManager, BLOCK_SIZE);
+        ReflectionTestUtils.setField(loser, "clock", clockAt(day));
+        try {
+            String loserNumber = loser.next();
+
+            assertEquals(List.of(FeeCalculationUtil.generateInvoiceNumber(day, 1)), winnerNumbers);
+            assertEquals(FeeCalculationUtil.generateInvoiceNumber(day, 1 + BLOCK_SIZE), loserNumber);
+            assertEquals(1 + 2 * BLOCK_SIZE, counterRepository.findById(day).orElseThrow().getNextValue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void numbersCannotBeTakenInsideATransaction() {
+        InvoiceNumberGenerator node = node(LocalDate.of(2040, 4, 5));
+
+        assertThrows(IllegalStateException.class,
+                () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> node.next()));
+    }
+
+    private InvoiceNumberGenerator node(LocalDate day) {
+        InvoiceNumberGenerator node = new InvoiceNumberGenerator(counterRepository, feeRepository, transactionManager, BLOCK_SIZE);
+        ReflectionTestUtils.setField(node, "clock", clockAt(day));
+        return node;
+    }
+
+    private static Clock clockAt(LocalDate day) {
+        ZoneId zone = ZoneId.systemDefault();
+        return Clock.fixed(day.atStartOfDay(zone).plusHours(12).toInstant(), zone);
+    }
+
+    private void saveFee(String code, String invoiceNumber) {
+        fixtures.fee(fixtures.student("Invoiced " + code, code.toLowerCase() + "@school.com", null),
+                fixtures.subject("Invoices " + code, code), invoiceNumber, 100.0, LocalDate.of(2025, 1, 15));
+    }
+}
@@ -0,0 +1,81 @@
+package com.SchoolManagementSystem.School_Management_System.service;
+
+import com.SchoolManagementSystem.School_Management_System.dto.SubjectRequest;
+import com.SchoolManagementSystem.School_Management_System.dto.TeacherRequest;
+import com.SchoolManagementSystem.School_Management_System.model.Subject;
+import com.SchoolManagementSystem.School_Management_System.model.Teacher;
+import com.SchoolManagementSystem.School_Management_System.repository.SubjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Subjects and teachers are served from the second-level and query caches, and updates made
+ * through the services are visible on the next read.
+ */
+@SpringBootTest
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Teacher teacher;
+    private Subject subject;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        teacher = teacherService.createTeacher(new TeacherRequest("Cached Teacher", "cache." + suffix + "@school.com", null, null));
+        subject = subjectService.createSubject(new SubjectRequest("Chemistry", "CACHE-" + suffix, null, teacher.getId(), 0.0));
+    }
+
+    @Test
+    void repeatedSubjectReadsDoNotHitTheDatabase() {
+        subjectService.getSubjectById(subject.getId());
+        subjectService.getAllSubjects();
+        statistics.clear();
+
+        Subject cached = subjectService.getSubjectById(subject.getId()).orElseThrow();
+        subjectService.getAllSubjects();
+        Subject found = transactionTemplate.execute(status -> subjectRepository.findById(subject.getId()).orElseThrow());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertEquals("Cached Teacher", cached.getTeacher().getName());
+        assertEquals("Chemistry", found.getName());
+    }
+
+    @Test
+    void serviceUpdatesAreVisibleOnTheNextRead() {
+        subjectService.getSubjectById(subject.getId());
+
+        subjectService.updateSubject(subject.getId(), new SubjectRequest("Organic Chemistry", subject.getCode(), null, teacher.getId(), 0.0));
+        teacherService.updateTeacher(teacher.getId(), new TeacherRequest("Renamed Teacher", teacher.getEmail(), null, null));
+
+        Subject reloaded = subjectService.getSubjectById(subject.getId()).orElseThrow();
+        assertEquals("Organic Chemistry", reloaded.getName());
+        assertEquals("Renamed Teacher", reloaded.getTeacher().getName());
+        Subject listed = subjectService.getAllSubjects().stream()
+                .filter(s -> s.getId().equals(subject.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Renamed Teacher", listed.getTeacher().getName());
+    }
+}